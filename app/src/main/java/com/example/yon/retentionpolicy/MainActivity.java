@@ -7,6 +7,7 @@ import android.widget.EditText;
 import com.dd.CircularProgressButton;
 import com.example.retentionpolicy.source.SignInProgress;
 import com.example.retentionpolicy.source.SignInState;
+import com.example.retentionpolicy.source.SignInStateDispatcher;
 import com.example.retentionpolicy.runtime.FindViewById;
 import com.example.retentionpolicy.runtime.SetOnClickById;
 import com.example.retentionpolicy.runtime.ViewInjector;
@@ -59,28 +60,36 @@ public class MainActivity extends AppCompatActivity {
      * 使用源码级注解（source）代替enum枚举类使用，限定登录的几种视图状态
      */
     void updateSignInState(@SignInState int state) {
-        switch (state) {
-            case SignInProgress.START:
-                mUserNameText.setEnabled(false);
-                mPasswordText.setEnabled(false);
-                mSubmitBtn.setClickable(false);
-                //因为submitBtn.setIndeterminateProgressMode(true);，因此这里随便给个进度值（0~100）即可让进度条转动
-                mSubmitBtn.setProgress(1);
-                break;
-            case SignInProgress.SUCCESS:
-                mSubmitBtn.setProgress(100);
-                mSubmitBtn.postDelayed(new Runnable() {
-                    @Override
-                    public void run() {
-                        ReceiverActivity.start(MainActivity.this, mUserNameText.getText().toString(), mPasswordText.getText().toString());
-                        finish();
-                    }
-                },500);
-                break;
-            case SignInProgress.FAILURE:
-                break;
-            default:
-                break;
-        }
+        mSignInStateDispatcher.dispatch(state);
     }
+
+    /**
+     * 由IntStatesProcessor根据@SignInState生成，代替手写的switch：每个状态一个方法，新增状态时未处理会编译报错
+     */
+    private final SignInStateDispatcher mSignInStateDispatcher = new SignInStateDispatcher() {
+        @Override
+        protected void onStart() {
+            mUserNameText.setEnabled(false);
+            mPasswordText.setEnabled(false);
+            mSubmitBtn.setClickable(false);
+            //因为submitBtn.setIndeterminateProgressMode(true);，因此这里随便给个进度值（0~100）即可让进度条转动
+            mSubmitBtn.setProgress(1);
+        }
+
+        @Override
+        protected void onSuccess() {
+            mSubmitBtn.setProgress(100);
+            mSubmitBtn.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    ReceiverActivity.start(MainActivity.this, mUserNameText.getText().toString(), mPasswordText.getText().toString());
+                    finish();
+                }
+            },500);
+        }
+
+        @Override
+        protected void onFailure() {
+        }
+    };
 }
@@ -7,7 +7,10 @@ import android.support.v7.app.AppCompatActivity;
 import android.widget.TextView;
 
 import com.example.retentionpolicy.clazz.BindInjector;
+import com.example.retentionpolicy.clazz.Unbinder;
 import com.example.runtime_annotation.BindClick;
+import com.example.runtime_annotation.BindExtra;
+import com.example.runtime_annotation.BindLayout;
 import com.example.runtime_annotation.BindView;
 
 
@@ -15,36 +18,51 @@ import com.example.runtime_annotation.BindView;
 /**
  * 使用编译时注解BindInjector（依赖clazz module库）进行View 成员变量绑定及设置点击事件
  */
+@BindLayout(R.layout.activity_receiver)
 public class ReceiverActivity extends AppCompatActivity {
 
     private static final String USER_NAME = "user_name";
     private static final String PASSWORD = "password";
 
     public static void start(Context context, String userName, String password) {
-        Intent intent = new Intent();
-        intent.setClass(context, ReceiverActivity.class);
-        intent.putExtra(USER_NAME, userName);
-        intent.putExtra(PASSWORD, password);
-        context.startActivity(intent);
+        //由BindAnnotationProcessor根据@BindExtra生成，key与下面的成员变量一致
+        new ReceiverActivity_IntentBuilder(context)
+                .userName(userName)
+                .password(password)
+                .start();
     }
 
+    @BindExtra(USER_NAME)
+    String mUserName;
+    @BindExtra(PASSWORD)
+    String mPassword;
+
     @BindView(R.id.tv_user_name)
     TextView mUserNameTextView;
     @BindView(R.id.tv_password)
     TextView mPasswordTextView;
 
+    private Unbinder mUnbinder;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_receiver);
-        //使用自定义注入库
-        BindInjector.inject(this);
+        //使用自定义注入库，同时读取@BindExtra
+        mUnbinder = BindInjector.inject(this);
+        //通过start()启动时两项都显示，未传入的值显示为null
         Intent intent = getIntent();
-        if (intent.getExtras() != null) {
-            mUserNameTextView.setText(getString(R.string.user_name_text, intent.getStringExtra(USER_NAME)));
-            mPasswordTextView.setText(getString(R.string.password_text, intent.getStringExtra(PASSWORD)));
+        if (intent.hasExtra(USER_NAME) || intent.hasExtra(PASSWORD)) {
+            mUserNameTextView.setText(getString(R.string.user_name_text, mUserName));
+            mPasswordTextView.setText(getString(R.string.password_text, mPassword));
         }
+    }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        //释放View及Listener的引用
+        mUnbinder.unbind();
     }
 
     @BindClick(R.id.btn_finish)
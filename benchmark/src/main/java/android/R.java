@@ -0,0 +1,11 @@
+package android;
+
+/**
+ * android.R的替身，只保留绑定用到的id
+ */
+public final class R {
+
+    public static final class id {
+        public static final int content = 0x01020002;
+    }
+}
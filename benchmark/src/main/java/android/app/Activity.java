@@ -0,0 +1,31 @@
+package android.app;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.Window;
+
+/**
+ * android.app.Activity的替身，setContentView添加到decor View中id为android.R.id.content的容器里，与framework一致
+ */
+public class Activity {
+
+    private final Window mWindow = new Window();
+    private ViewGroup mContentParent;
+
+    public Window getWindow() {
+        return mWindow;
+    }
+
+    public View findViewById(int id) {
+        return getWindow().findViewById(id);
+    }
+
+    public void setContentView(View view) {
+        if (mContentParent == null) {
+            mContentParent = new ViewGroup();
+            mContentParent.setId(android.R.id.content);
+            ((ViewGroup) mWindow.getDecorView()).addView(mContentParent);
+        }
+        mContentParent.addView(view);
+    }
+}
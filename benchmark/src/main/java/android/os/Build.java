@@ -0,0 +1,24 @@
+package android.os;
+
+/**
+ * android.os.Build的替身
+ */
+public final class Build {
+
+    private Build() {
+    }
+
+    public static final class VERSION {
+        public static final int SDK_INT = 24;
+
+        private VERSION() {
+        }
+    }
+
+    public static final class VERSION_CODES {
+        public static final int JELLY_BEAN_MR2 = 18;
+
+        private VERSION_CODES() {
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package android.os;
+
+/**
+ * android.os.Bundle的替身，BindAnnotationProcessor解析@BindExtra、@BindState类型及编译StateBinder时需要它
+ */
+public final class Bundle {
+}
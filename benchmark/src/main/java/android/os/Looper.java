@@ -0,0 +1,20 @@
+package android.os;
+
+/**
+ * android.os.Looper的替身：基准测试中把执行注入的线程都视为主线程
+ */
+public final class Looper {
+
+    private static final Looper MAIN = new Looper();
+
+    private Looper() {
+    }
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+
+    public static Looper myLooper() {
+        return MAIN;
+    }
+}
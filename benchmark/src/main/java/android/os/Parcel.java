@@ -0,0 +1,49 @@
+package android.os;
+
+/**
+ * android.os.Parcel的替身，只用于编译clazz库中的LazyExtra、StateSize，基准测试不会调用
+ */
+public final class Parcel {
+
+    private Parcel() {
+    }
+
+    public static Parcel obtain() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void recycle() {
+    }
+
+    public byte[] marshall() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void unmarshall(byte[] data, int offset, int length) {
+        throw new UnsupportedOperationException();
+    }
+
+    public int dataSize() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void setDataPosition(int pos) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void writeParcelable(Parcelable p, int parcelableFlags) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void writeBundle(Bundle val) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void writeSerializable(java.io.Serializable s) {
+        throw new UnsupportedOperationException();
+    }
+
+    public <T extends Parcelable> T readParcelable(ClassLoader loader) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,7 @@
+package android.os;
+
+/**
+ * android.os.Parcelable的替身，只用于编译clazz库中的LazyExtra、StateSize
+ */
+public interface Parcelable {
+}
@@ -0,0 +1,14 @@
+package android.os;
+
+/**
+ * android.os.SystemClock的替身
+ */
+public final class SystemClock {
+
+    private SystemClock() {
+    }
+
+    public static long uptimeMillis() {
+        return System.nanoTime() / 1000000L;
+    }
+}
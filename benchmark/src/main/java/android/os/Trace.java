@@ -0,0 +1,16 @@
+package android.os;
+
+/**
+ * android.os.Trace的替身，不记录任何内容
+ */
+public final class Trace {
+
+    private Trace() {
+    }
+
+    public static void beginSection(String sectionName) {
+    }
+
+    public static void endSection() {
+    }
+}
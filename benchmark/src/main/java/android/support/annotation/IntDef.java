@@ -0,0 +1,17 @@
+package android.support.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * android.support.annotation.IntDef的替身，供source module的@SignInState编译
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.ANNOTATION_TYPE)
+public @interface IntDef {
+    long[] value() default {};
+
+    boolean flag() default false;
+}
@@ -0,0 +1,7 @@
+package android.text;
+
+/**
+ * android.text.Editable的替身
+ */
+public interface Editable extends CharSequence {
+}
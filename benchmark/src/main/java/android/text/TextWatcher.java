@@ -0,0 +1,13 @@
+package android.text;
+
+/**
+ * android.text.TextWatcher的替身
+ */
+public interface TextWatcher {
+
+    void beforeTextChanged(CharSequence s, int start, int count, int after);
+
+    void onTextChanged(CharSequence s, int start, int before, int count);
+
+    void afterTextChanged(Editable s);
+}
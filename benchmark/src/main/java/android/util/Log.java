@@ -0,0 +1,18 @@
+package android.util;
+
+/**
+ * android.util.Log的替身，不输出任何内容
+ */
+public final class Log {
+
+    private Log() {
+    }
+
+    public static int d(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+}
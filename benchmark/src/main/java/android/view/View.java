@@ -0,0 +1,151 @@
+package android.view;
+
+/**
+ * android.view.View的轻量替身，只保留绑定用到的部分，findViewById的遍历方式与framework一致
+ */
+public class View {
+
+    public static final int NO_ID = -1;
+    public static final int VISIBLE = 0x00000000;
+    public static final int INVISIBLE = 0x00000004;
+    public static final int GONE = 0x00000008;
+
+    public interface OnClickListener {
+        void onClick(View v);
+    }
+
+    ViewParent mParent;
+    private int mID = NO_ID;
+    private OnClickListener mOnClickListener;
+    private boolean mEnabled = true;
+    private int mVisibility = VISIBLE;
+    private int mScrollX;
+    private int mScrollY;
+    private ViewTreeObserver mViewTreeObserver;
+    private Runnable mPendingRunnable;
+    /**
+     * framework中为SparseArray，这里用两个数组代替，同样不装箱key
+     */
+    private int[] mTagKeys;
+    private Object[] mTagValues;
+
+    public int getId() {
+        return mID;
+    }
+
+    public void setId(int id) {
+        mID = id;
+    }
+
+    public final ViewParent getParent() {
+        return mParent;
+    }
+
+    public final View findViewById(int id) {
+        if (id < 0) {
+            return null;
+        }
+        return findViewTraversal(id);
+    }
+
+    protected View findViewTraversal(int id) {
+        if (id == mID) {
+            return this;
+        }
+        return null;
+    }
+
+    public void setTag(int key, Object tag) {
+        if (mTagKeys == null) {
+            mTagKeys = new int[] {key};
+            mTagValues = new Object[] {tag};
+            return;
+        }
+        for (int i = 0; i < mTagKeys.length; i++) {
+            if (mTagKeys[i] == key) {
+                mTagValues[i] = tag;
+                return;
+            }
+        }
+        int length = mTagKeys.length;
+        mTagKeys = java.util.Arrays.copyOf(mTagKeys, length + 1);
+        mTagValues = java.util.Arrays.copyOf(mTagValues, length + 1);
+        mTagKeys[length] = key;
+        mTagValues[length] = tag;
+    }
+
+    public Object getTag(int key) {
+        if (mTagKeys != null) {
+            for (int i = 0; i < mTagKeys.length; i++) {
+                if (mTagKeys[i] == key) {
+                    return mTagValues[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    public void setOnClickListener(OnClickListener l) {
+        mOnClickListener = l;
+    }
+
+    public boolean performClick() {
+        if (mOnClickListener != null) {
+            mOnClickListener.onClick(this);
+            return true;
+        }
+        return false;
+    }
+
+    public void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    public void setVisibility(int visibility) {
+        mVisibility = visibility;
+    }
+
+    public int getVisibility() {
+        return mVisibility;
+    }
+
+    public int getScrollX() {
+        return mScrollX;
+    }
+
+    public int getScrollY() {
+        return mScrollY;
+    }
+
+    public void scrollTo(int x, int y) {
+        mScrollX = x;
+        mScrollY = y;
+        getViewTreeObserver().dispatchOnScrollChanged();
+    }
+
+    public ViewTreeObserver getViewTreeObserver() {
+        if (mViewTreeObserver == null) {
+            mViewTreeObserver = new ViewTreeObserver();
+        }
+        return mViewTreeObserver;
+    }
+
+    /**
+     * 基准测试中没有消息循环：只记录最后一个Runnable，不执行
+     */
+    public boolean postDelayed(Runnable action, long delayMillis) {
+        mPendingRunnable = action;
+        return true;
+    }
+
+    public boolean removeCallbacks(Runnable action) {
+        if (mPendingRunnable == action) {
+            mPendingRunnable = null;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package android.view;
+
+import java.util.Arrays;
+
+/**
+ * android.view.ViewGroup的替身，子View保存在数组中，与framework一致
+ */
+public class ViewGroup extends View implements ViewParent {
+
+    private View[] mChildren = new View[12];
+    private int mChildrenCount;
+
+    public void addView(View child) {
+        addView(child, mChildrenCount);
+    }
+
+    public void addView(View child, int index) {
+        if (mChildrenCount == mChildren.length) {
+            mChildren = Arrays.copyOf(mChildren, mChildrenCount * 2);
+        }
+        System.arraycopy(mChildren, index, mChildren, index + 1, mChildrenCount - index);
+        mChildren[index] = child;
+        mChildrenCount++;
+        child.mParent = this;
+    }
+
+    public void removeViewAt(int index) {
+        View child = mChildren[index];
+        System.arraycopy(mChildren, index + 1, mChildren, index, mChildrenCount - index - 1);
+        mChildren[--mChildrenCount] = null;
+        child.mParent = null;
+    }
+
+    public int indexOfChild(View child) {
+        for (int i = 0; i < mChildrenCount; i++) {
+            if (mChildren[i] == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getChildCount() {
+        return mChildrenCount;
+    }
+
+    public View getChildAt(int index) {
+        if (index < 0 || index >= mChildrenCount) {
+            return null;
+        }
+        return mChildren[index];
+    }
+
+    @Override
+    protected View findViewTraversal(int id) {
+        if (id == getId()) {
+            return this;
+        }
+        final View[] where = mChildren;
+        final int len = mChildrenCount;
+        for (int i = 0; i < len; i++) {
+            View v = where[i].findViewTraversal(id);
+            if (v != null) {
+                return v;
+            }
+        }
+        return null;
+    }
+}
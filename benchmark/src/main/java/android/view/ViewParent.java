@@ -0,0 +1,7 @@
+package android.view;
+
+/**
+ * android.view.ViewParent的替身
+ */
+public interface ViewParent {
+}
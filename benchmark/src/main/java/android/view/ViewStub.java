@@ -0,0 +1,21 @@
+package android.view;
+
+/**
+ * android.view.ViewStub的替身，inflate时用预先设置的View替换自身
+ */
+public final class ViewStub extends View {
+
+    private View mLayout;
+
+    public void setLayout(View layout) {
+        mLayout = layout;
+    }
+
+    public View inflate() {
+        ViewGroup parent = (ViewGroup) getParent();
+        int index = parent.indexOfChild(this);
+        parent.removeViewAt(index);
+        parent.addView(mLayout, index);
+        return mLayout;
+    }
+}
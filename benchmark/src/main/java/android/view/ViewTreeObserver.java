@@ -0,0 +1,33 @@
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * android.view.ViewTreeObserver的替身，只保留滚动监听
+ */
+public final class ViewTreeObserver {
+
+    public interface OnScrollChangedListener {
+        void onScrollChanged();
+    }
+
+    private final ArrayList<OnScrollChangedListener> mOnScrollChangedListeners = new ArrayList<>();
+
+    public void addOnScrollChangedListener(OnScrollChangedListener listener) {
+        mOnScrollChangedListeners.add(listener);
+    }
+
+    public void removeOnScrollChangedListener(OnScrollChangedListener listener) {
+        mOnScrollChangedListeners.remove(listener);
+    }
+
+    public boolean isAlive() {
+        return true;
+    }
+
+    void dispatchOnScrollChanged() {
+        for (int i = 0; i < mOnScrollChangedListeners.size(); i++) {
+            mOnScrollChangedListeners.get(i).onScrollChanged();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package android.view;
+
+/**
+ * android.view.Window的替身
+ */
+public class Window {
+
+    private final ViewGroup mDecor = new ViewGroup();
+
+    public View getDecorView() {
+        return mDecor;
+    }
+
+    public View findViewById(int id) {
+        return mDecor.findViewById(id);
+    }
+}
@@ -0,0 +1,41 @@
+package android.widget;
+
+import android.text.TextWatcher;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * android.widget.TextView的替身，setText时按framework的顺序通知TextWatcher（基准测试中不传Editable）
+ */
+public class TextView extends View {
+
+    private CharSequence mText = "";
+    private final ArrayList<TextWatcher> mListeners = new ArrayList<>();
+
+    public CharSequence getText() {
+        return mText;
+    }
+
+    public void setText(CharSequence text) {
+        CharSequence old = mText;
+        for (int i = 0; i < mListeners.size(); i++) {
+            mListeners.get(i).beforeTextChanged(old, 0, old.length(), text.length());
+        }
+        mText = text;
+        for (int i = 0; i < mListeners.size(); i++) {
+            mListeners.get(i).onTextChanged(text, 0, old.length(), text.length());
+        }
+        for (int i = 0; i < mListeners.size(); i++) {
+            mListeners.get(i).afterTextChanged(null);
+        }
+    }
+
+    public void addTextChangedListener(TextWatcher watcher) {
+        mListeners.add(watcher);
+    }
+
+    public void removeTextChangedListener(TextWatcher watcher) {
+        mListeners.remove(watcher);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+
+import com.example.runtime_annotation.BindClick;
+
+/**
+ * 使用@BindClick(async = true)的Activity，点击在Executor中执行并在主线程回调结果
+ */
+public class AsyncClickActivity extends Activity {
+
+    int clicks;
+    int lastResult;
+
+    @BindClick(value = Ids.V15, async = true, onResult = "onClickDone")
+    int onClick15() {
+        return ++clicks;
+    }
+
+    void onClickDone(int result) {
+        lastResult = result;
+    }
+}
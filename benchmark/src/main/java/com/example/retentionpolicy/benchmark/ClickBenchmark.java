@@ -0,0 +1,94 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.view.View;
+
+import com.example.retentionpolicy.clazz.AsyncClick;
+import com.example.retentionpolicy.clazz.BindInjector;
+import com.example.retentionpolicy.runtime.ViewInjector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点击分发：反射调用（ViewInjector）、生成的ClickDispatcher、手写匿名Listener；
+ * generatedAsync为@BindClick(async = true)在主线程上的额外开销（Executor直接执行，Handler替身直接回调）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickBenchmark {
+
+    private View handWritten;
+    private View reflective;
+    private View generated;
+    private View generatedAsync;
+
+    @Setup
+    public void setUp() {
+        LargeHandWrittenActivity handWrittenActivity = new LargeHandWrittenActivity();
+        handWrittenActivity.setContentView(ViewTrees.create(4, Ids.LARGE));
+        handWrittenActivity.bind();
+        handWritten = handWrittenActivity.findViewById(Ids.V15);
+
+        LargeReflectiveActivity reflectiveActivity = new LargeReflectiveActivity();
+        reflectiveActivity.setContentView(ViewTrees.create(4, Ids.LARGE));
+        ViewInjector.inject(reflectiveActivity);
+        reflective = reflectiveActivity.findViewById(Ids.V15);
+
+        LargeGeneratedActivity generatedActivity = new LargeGeneratedActivity();
+        generatedActivity.setContentView(ViewTrees.create(4, Ids.LARGE));
+        BindInjector.inject(generatedActivity);
+        generated = generatedActivity.findViewById(Ids.V15);
+
+        AsyncClick.setExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+        AsyncClickActivity asyncActivity = new AsyncClickActivity();
+        asyncActivity.setContentView(ViewTrees.create(4, Ids.LARGE));
+        BindInjector.inject(asyncActivity);
+        generatedAsync = asyncActivity.findViewById(Ids.V15);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AsyncClick.setExecutor(null);
+    }
+
+    @Benchmark
+    public boolean handWritten() {
+        return handWritten.performClick();
+    }
+
+    @Benchmark
+    public boolean reflective() {
+        return reflective.performClick();
+    }
+
+    @Benchmark
+    public boolean generated() {
+        return generated.performClick();
+    }
+
+    @Benchmark
+    public boolean generatedAsync() {
+        return generatedAsync.performClick();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.retentionpolicy.benchmark;
+
+import com.example.retentionpolicy.clazz.BindInjector;
+import com.example.retentionpolicy.runtime.ViewInjector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 进程内首次注入（冷启动打开第一个页面）：每个fork只测一次，包含类加载、反射解析、查找Binder等一次性开销；
+ * xxPrewarmed为Application启动时已在后台prewarm之后，主线程首次注入剩余的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdInjectBenchmark {
+
+    private LargeHandWrittenActivity handWritten;
+    private LargeReflectiveActivity reflective;
+    private LargeGeneratedActivity generated;
+
+    @Setup
+    public void setUp() {
+        handWritten = new LargeHandWrittenActivity();
+        handWritten.setContentView(ViewTrees.create(16, Ids.LARGE));
+        reflective = new LargeReflectiveActivity();
+        reflective.setContentView(ViewTrees.create(16, Ids.LARGE));
+        generated = new LargeGeneratedActivity();
+        generated.setContentView(ViewTrees.create(16, Ids.LARGE));
+    }
+
+    /**
+     * 在setUp中（相当于Application启动时的后台线程）完成prewarm
+     */
+    @State(Scope.Thread)
+    public static class Prewarmed {
+        private static final Executor DIRECT = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+
+        @Setup
+        public void setUp() {
+            ViewInjector.prewarm(DIRECT, LargeReflectiveActivity.class);
+            BindInjector.prewarm(DIRECT, LargeGeneratedActivity.class);
+        }
+    }
+
+    @Benchmark
+    public Object handWritten() {
+        handWritten.bind();
+        return handWritten;
+    }
+
+    @Benchmark
+    public Object reflective() {
+        ViewInjector.inject(reflective);
+        return reflective;
+    }
+
+    @Benchmark
+    public Object generated() {
+        return BindInjector.inject(generated);
+    }
+
+    @Benchmark
+    public Object reflectivePrewarmed(Prewarmed prewarmed) {
+        ViewInjector.inject(reflective);
+        return reflective;
+    }
+
+    @Benchmark
+    public Object generatedPrewarmed(Prewarmed prewarmed) {
+        return BindInjector.inject(generated);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.example.runtime_annotation.BindScroll;
+import com.example.runtime_annotation.BindTextChanged;
+
+/**
+ * 使用@BindTextChanged、@BindScroll的Activity：输入停止300毫秒后校验，滚动每100毫秒最多处理一次
+ */
+public class EventActivity extends Activity {
+
+    int validations;
+    int scrolls;
+
+    @BindTextChanged(value = Ids.V0, debounce = 300)
+    void validate(CharSequence text) {
+        validations += text.length();
+    }
+
+    @BindScroll(value = Ids.V1, throttle = 100)
+    void onScrolled(View view) {
+        scrolls += view.getScrollY();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.example.retentionpolicy.clazz.BindInjector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 高频事件在窗口内的单次开销：@BindTextChanged(debounce)每次按键只记录时间（已有调度时不再post），
+ * 对照为每次按键都校验的手写TextWatcher（这里的校验很轻，实际收益来自校验次数的减少）；
+ * @BindScroll(throttle)每次滚动的开销。可加-prof gc确认没有分配
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+
+    private static final String[] TEXTS = {"a", "ab"};
+
+    private TextView debouncedText;
+    private TextView plainText;
+    private View scrollView;
+    private int validations;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        EventActivity activity = new EventActivity();
+        ViewGroup root = new ViewGroup();
+        debouncedText = new TextView();
+        debouncedText.setId(Ids.V0);
+        root.addView(debouncedText);
+        scrollView = new View();
+        scrollView.setId(Ids.V1);
+        root.addView(scrollView);
+        activity.setContentView(root);
+        BindInjector.inject(activity);
+
+        Activity plainActivity = new Activity();
+        plainText = new TextView();
+        plainActivity.setContentView(plainText);
+        plainText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                validations += plainText.getText().length();
+            }
+        });
+    }
+
+    @Benchmark
+    public Object plainKeystroke() {
+        plainText.setText(TEXTS[position++ & 1]);
+        return plainText;
+    }
+
+    @Benchmark
+    public Object debouncedKeystroke() {
+        debouncedText.setText(TEXTS[position++ & 1]);
+        return debouncedText;
+    }
+
+    @Benchmark
+    public Object throttledScroll() {
+        scrollView.scrollTo(0, position++ & 1);
+        return scrollView;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.view.View;
+
+import com.example.retentionpolicy.clazz.BindInjector;
+import com.example.retentionpolicy.runtime.ViewCollections;
+import com.example.retentionpolicy.runtime.ViewInjector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 绑定16个View的数组和List：逐个findViewById、@FindViewsById反射、@BindViews生成代码；
+ * 以及对整组View的操作：ViewCollections按下标访问与for-each（创建Iterator）的对比，可加-prof gc查看分配
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupBenchmark {
+
+    @Param({"4", "16", "64"})
+    int treeDepth;
+
+    private GroupHandWrittenActivity handWritten;
+    private GroupReflectiveActivity reflective;
+    private GroupGeneratedActivity generated;
+    private boolean enabled;
+
+    @Setup
+    public void setUp() {
+        handWritten = new GroupHandWrittenActivity();
+        handWritten.setContentView(ViewTrees.create(treeDepth, Ids.LARGE));
+        reflective = new GroupReflectiveActivity();
+        reflective.setContentView(ViewTrees.create(treeDepth, Ids.LARGE));
+        generated = new GroupGeneratedActivity();
+        generated.setContentView(ViewTrees.create(treeDepth, Ids.LARGE));
+        BindInjector.inject(generated);
+    }
+
+    @Benchmark
+    public Object handWritten() {
+        handWritten.bind();
+        return handWritten;
+    }
+
+    @Benchmark
+    public Object reflective() {
+        ViewInjector.inject(reflective);
+        return reflective;
+    }
+
+    @Benchmark
+    public Object generated() {
+        return BindInjector.inject(generated);
+    }
+
+    @Benchmark
+    public Object setEnabledForEach() {
+        enabled = !enabled;
+        for (View view : generated.viewList) {
+            view.setEnabled(enabled);
+        }
+        return generated;
+    }
+
+    @Benchmark
+    public Object setEnabledViewCollections() {
+        enabled = !enabled;
+        ViewCollections.setEnabled(generated.viewList, enabled);
+        return generated;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 逐个findViewById填充View数组和List的Activity，作为@BindViews的对照
+ */
+public class GroupHandWrittenActivity extends Activity {
+    View[] views;
+    List<View> viewList;
+
+    void bind() {
+        views = new View[Ids.LARGE.length];
+        for (int i = 0; i < Ids.LARGE.length; i++) {
+            views[i] = findViewById(Ids.LARGE[i]);
+        }
+        View[] listViews = new View[Ids.LARGE.length];
+        for (int i = 0; i < Ids.LARGE.length; i++) {
+            listViews[i] = findViewById(Ids.LARGE[i]);
+        }
+        viewList = Arrays.asList(listViews);
+    }
+}
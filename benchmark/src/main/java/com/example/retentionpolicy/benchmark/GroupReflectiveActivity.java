@@ -0,0 +1,20 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.example.retentionpolicy.runtime.FindViewsById;
+
+import java.util.List;
+
+/**
+ * 使用@FindViewsById将16个View绑定到数组和List上的Activity
+ */
+public class GroupReflectiveActivity extends Activity {
+    @FindViewsById({Ids.V0, Ids.V1, Ids.V2, Ids.V3, Ids.V4, Ids.V5, Ids.V6, Ids.V7,
+            Ids.V8, Ids.V9, Ids.V10, Ids.V11, Ids.V12, Ids.V13, Ids.V14, Ids.V15})
+    View[] views;
+    @FindViewsById({Ids.V0, Ids.V1, Ids.V2, Ids.V3, Ids.V4, Ids.V5, Ids.V6, Ids.V7,
+            Ids.V8, Ids.V9, Ids.V10, Ids.V11, Ids.V12, Ids.V13, Ids.V14, Ids.V15})
+    List<View> viewList;
+}
@@ -0,0 +1,26 @@
+package com.example.retentionpolicy.benchmark;
+
+/**
+ * 测试用View的id（相当于R.id）
+ */
+public interface Ids {
+    int V0 = 0x7f0b0000;
+    int V1 = 0x7f0b0001;
+    int V2 = 0x7f0b0002;
+    int V3 = 0x7f0b0003;
+    int V4 = 0x7f0b0004;
+    int V5 = 0x7f0b0005;
+    int V6 = 0x7f0b0006;
+    int V7 = 0x7f0b0007;
+    int V8 = 0x7f0b0008;
+    int V9 = 0x7f0b0009;
+    int V10 = 0x7f0b000a;
+    int V11 = 0x7f0b000b;
+    int V12 = 0x7f0b000c;
+    int V13 = 0x7f0b000d;
+    int V14 = 0x7f0b000e;
+    int V15 = 0x7f0b000f;
+
+    int[] SMALL = {V0, V1, V2, V3};
+    int[] LARGE = {V0, V1, V2, V3, V4, V5, V6, V7, V8, V9, V10, V11, V12, V13, V14, V15};
+}
@@ -0,0 +1,102 @@
+package com.example.retentionpolicy.benchmark;
+
+import com.example.retentionpolicy.clazz.BindInjector;
+import com.example.retentionpolicy.clazz.Injector;
+import com.example.retentionpolicy.runtime.ViewInjector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热身后的注入（相当于旋转屏幕、重新打开页面）：反射、生成代码、手写三种方式，
+ * 4个View和16个View的Activity，不同深度的View树；xxInjector为通过统一入口Injector注入
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectBenchmark {
+
+    @Param({"4", "16", "64"})
+    int treeDepth;
+
+    private SmallHandWrittenActivity smallHandWritten;
+    private SmallReflectiveActivity smallReflective;
+    private SmallGeneratedActivity smallGenerated;
+    private LargeHandWrittenActivity largeHandWritten;
+    private LargeReflectiveActivity largeReflective;
+    private LargeGeneratedActivity largeGenerated;
+
+    @Setup
+    public void setUp() {
+        smallHandWritten = new SmallHandWrittenActivity();
+        smallHandWritten.setContentView(ViewTrees.create(treeDepth, Ids.SMALL));
+        smallReflective = new SmallReflectiveActivity();
+        smallReflective.setContentView(ViewTrees.create(treeDepth, Ids.SMALL));
+        smallGenerated = new SmallGeneratedActivity();
+        smallGenerated.setContentView(ViewTrees.create(treeDepth, Ids.SMALL));
+        largeHandWritten = new LargeHandWrittenActivity();
+        largeHandWritten.setContentView(ViewTrees.create(treeDepth, Ids.LARGE));
+        largeReflective = new LargeReflectiveActivity();
+        largeReflective.setContentView(ViewTrees.create(treeDepth, Ids.LARGE));
+        largeGenerated = new LargeGeneratedActivity();
+        largeGenerated.setContentView(ViewTrees.create(treeDepth, Ids.LARGE));
+    }
+
+    @Benchmark
+    public Object smallHandWritten() {
+        smallHandWritten.bind();
+        return smallHandWritten;
+    }
+
+    @Benchmark
+    public Object smallReflective() {
+        ViewInjector.inject(smallReflective);
+        return smallReflective;
+    }
+
+    @Benchmark
+    public Object smallGenerated() {
+        return BindInjector.inject(smallGenerated);
+    }
+
+    @Benchmark
+    public Object largeHandWritten() {
+        largeHandWritten.bind();
+        return largeHandWritten;
+    }
+
+    @Benchmark
+    public Object largeReflective() {
+        ViewInjector.inject(largeReflective);
+        return largeReflective;
+    }
+
+    @Benchmark
+    public Object largeGenerated() {
+        return BindInjector.inject(largeGenerated);
+    }
+
+    @Benchmark
+    public Object largeReflectiveInjector() {
+        return Injector.inject(largeReflective);
+    }
+
+    @Benchmark
+    public Object largeGeneratedInjector() {
+        return Injector.inject(largeGenerated);
+    }
+}
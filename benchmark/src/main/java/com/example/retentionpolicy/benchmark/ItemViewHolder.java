@@ -0,0 +1,29 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.view.View;
+
+import com.example.runtime_annotation.BindView;
+
+/**
+ * 模拟RecyclerView.ViewHolder，由生成的ViewBinder绑定
+ */
+public class ItemViewHolder {
+    @BindView(Ids.V0)
+    View icon;
+    @BindView(Ids.V1)
+    View title;
+    @BindView(Ids.V2)
+    View subtitle;
+    @BindView(Ids.V3)
+    View action;
+
+    /**
+     * 手写绑定（基准）
+     */
+    void bindByHand(View itemView) {
+        icon = itemView.findViewById(Ids.V0);
+        title = itemView.findViewById(Ids.V1);
+        subtitle = itemView.findViewById(Ids.V2);
+        action = itemView.findViewById(Ids.V3);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.example.runtime_annotation.BindClick;
+import com.example.runtime_annotation.BindView;
+
+/**
+ * 使用clazz模块BindInjector及生成的InjectUtil绑定的Activity，16个View、4个点击事件
+ */
+public class LargeGeneratedActivity extends Activity {
+    @BindView(Ids.V0)
+    View v0;
+    @BindView(Ids.V1)
+    View v1;
+    @BindView(Ids.V2)
+    View v2;
+    @BindView(Ids.V3)
+    View v3;
+    @BindView(Ids.V4)
+    View v4;
+    @BindView(Ids.V5)
+    View v5;
+    @BindView(Ids.V6)
+    View v6;
+    @BindView(Ids.V7)
+    View v7;
+    @BindView(Ids.V8)
+    View v8;
+    @BindView(Ids.V9)
+    View v9;
+    @BindView(Ids.V10)
+    View v10;
+    @BindView(Ids.V11)
+    View v11;
+    @BindView(Ids.V12)
+    View v12;
+    @BindView(Ids.V13)
+    View v13;
+    @BindView(Ids.V14)
+    View v14;
+    @BindView(Ids.V15)
+    View v15;
+
+    int clicks;
+
+    @BindClick(Ids.V12)
+    void onClick12() {
+        clicks++;
+    }
+
+    @BindClick(Ids.V13)
+    void onClick13() {
+        clicks++;
+    }
+
+    @BindClick(Ids.V14)
+    void onClick14() {
+        clicks++;
+    }
+
+    @BindClick(Ids.V15)
+    void onClick15() {
+        clicks++;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+/**
+ * 手写findViewById及匿名OnClickListener绑定的Activity（基准），16个View、4个点击事件
+ */
+public class LargeHandWrittenActivity extends Activity {
+    View v0;
+    View v1;
+    View v2;
+    View v3;
+    View v4;
+    View v5;
+    View v6;
+    View v7;
+    View v8;
+    View v9;
+    View v10;
+    View v11;
+    View v12;
+    View v13;
+    View v14;
+    View v15;
+
+    int clicks;
+
+    void bind() {
+        v0 = findViewById(Ids.V0);
+        v1 = findViewById(Ids.V1);
+        v2 = findViewById(Ids.V2);
+        v3 = findViewById(Ids.V3);
+        v4 = findViewById(Ids.V4);
+        v5 = findViewById(Ids.V5);
+        v6 = findViewById(Ids.V6);
+        v7 = findViewById(Ids.V7);
+        v8 = findViewById(Ids.V8);
+        v9 = findViewById(Ids.V9);
+        v10 = findViewById(Ids.V10);
+        v11 = findViewById(Ids.V11);
+        v12 = findViewById(Ids.V12);
+        v13 = findViewById(Ids.V13);
+        v14 = findViewById(Ids.V14);
+        v15 = findViewById(Ids.V15);
+        v12.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                onClick12();
+            }
+        });
+        v13.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                onClick13();
+            }
+        });
+        v14.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                onClick14();
+            }
+        });
+        v15.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                onClick15();
+            }
+        });
+    }
+
+    void onClick12() {
+        clicks++;
+    }
+
+    void onClick13() {
+        clicks++;
+    }
+
+    void onClick14() {
+        clicks++;
+    }
+
+    void onClick15() {
+        clicks++;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.example.retentionpolicy.runtime.FindViewById;
+import com.example.retentionpolicy.runtime.SetOnClickById;
+
+/**
+ * 使用runtime模块ViewInjector反射绑定的Activity，16个View、4个点击事件
+ */
+public class LargeReflectiveActivity extends Activity {
+    @FindViewById(Ids.V0)
+    private View v0;
+    @FindViewById(Ids.V1)
+    private View v1;
+    @FindViewById(Ids.V2)
+    private View v2;
+    @FindViewById(Ids.V3)
+    private View v3;
+    @FindViewById(Ids.V4)
+    private View v4;
+    @FindViewById(Ids.V5)
+    private View v5;
+    @FindViewById(Ids.V6)
+    private View v6;
+    @FindViewById(Ids.V7)
+    private View v7;
+    @FindViewById(Ids.V8)
+    private View v8;
+    @FindViewById(Ids.V9)
+    private View v9;
+    @FindViewById(Ids.V10)
+    private View v10;
+    @FindViewById(Ids.V11)
+    private View v11;
+    @FindViewById(Ids.V12)
+    private View v12;
+    @FindViewById(Ids.V13)
+    private View v13;
+    @FindViewById(Ids.V14)
+    private View v14;
+    @FindViewById(Ids.V15)
+    private View v15;
+
+    int clicks;
+
+    @SetOnClickById(Ids.V12)
+    private void onClick12() {
+        clicks++;
+    }
+
+    @SetOnClickById(Ids.V13)
+    private void onClick13() {
+        clicks++;
+    }
+
+    @SetOnClickById(Ids.V14)
+    private void onClick14() {
+        clicks++;
+    }
+
+    @SetOnClickById(Ids.V15)
+    private void onClick15() {
+        clicks++;
+    }
+}
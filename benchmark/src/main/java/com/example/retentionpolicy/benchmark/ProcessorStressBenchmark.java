@@ -0,0 +1,176 @@
+package com.example.retentionpolicy.benchmark;
+
+import com.example.runtime_annotation.BindClick;
+import com.example.runtime_annotation.BindView;
+import com.example.runtime_processor.BindAnnotationProcessor;
+import com.example.runtime_processor.BinderRegistryProcessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * BindAnnotationProcessor（及BinderRegistryProcessor）压力测试：通过javax.tools.JavaCompiler（-proc:only）处理合成的大量Activity，
+ * 每个Activity有bindings个绑定（4/5为@BindView，其余为@BindClick），且都继承同一个无注解的BaseStressActivity。
+ * processor与noOpProcessor（声明相同注解但不做任何处理）之差即为注解处理器本身的耗时
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProcessorStressBenchmark {
+
+    private static final String PACKAGE = "stress";
+    private static final int FIRST_ID = 0x7f0b0000;
+
+    @Param({"500", "5000"})
+    int activities;
+
+    @Param({"50"})
+    int bindings;
+
+    private JavaCompiler compiler;
+    private List<JavaFileObject> sources;
+    private File outputDir;
+
+    @Setup(Level.Trial)
+    public void createSources() {
+        compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("ProcessorStressBenchmark must run on a JDK");
+        }
+        sources = new ArrayList<>(activities + 1);
+        sources.add(source("BaseStressActivity", "public abstract class BaseStressActivity extends android.app.Activity {\n}\n"));
+        int clicks = bindings / 5;
+        for (int i = 0; i < activities; i++) {
+            StringBuilder body = new StringBuilder(bindings * 64);
+            body.append("public class StressActivity").append(i).append(" extends BaseStressActivity {\n");
+            for (int j = 0; j < bindings - clicks; j++) {
+                body.append("    @").append(BindView.class.getName()).append('(').append(FIRST_ID + j)
+                        .append(") android.view.View view").append(j).append(";\n");
+            }
+            for (int j = 0; j < clicks; j++) {
+                body.append("    @").append(BindClick.class.getName()).append('(').append(FIRST_ID + j)
+                        .append(") void onClick").append(j).append("(android.view.View view) {\n    }\n");
+            }
+            body.append("}\n");
+            sources.add(source("StressActivity" + i, body.toString()));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createOutputDir() throws IOException {
+        outputDir = Files.createTempDirectory("processor-stress").toFile();
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteOutputDir() {
+        delete(outputDir);
+    }
+
+    @Benchmark
+    public boolean processor() {
+        return compile(new BindAnnotationProcessor(), new BinderRegistryProcessor());
+    }
+
+    @Benchmark
+    public boolean noOpProcessor() {
+        return compile(new NoOpProcessor());
+    }
+
+    private boolean compile(Processor... processors) {
+        List<String> options = Arrays.asList("-proc:only", "-implicit:none",
+                "-classpath", System.getProperty("java.class.path"),
+                "-s", outputDir.getPath());
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, sources);
+        task.setProcessors(Arrays.asList(processors));
+        if (!task.call()) {
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    throw new IllegalStateException(diagnostic.toString());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static JavaFileObject source(String simpleName, final String body) {
+        URI uri = URI.create("string:///" + PACKAGE + "/" + simpleName + JavaFileObject.Kind.SOURCE.extension);
+        final String code = "package " + PACKAGE + ";\n\n" + body;
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * 声明与BindAnnotationProcessor相同的注解，使javac做同样的解析工作，但不做任何处理
+     */
+    private static class NoOpProcessor extends AbstractProcessor {
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            Set<String> annotations = new LinkedHashSet<>();
+            annotations.add(BindView.class.getCanonicalName());
+            annotations.add(BindClick.class.getCanonicalName());
+            return annotations;
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.example.runtime_annotation.BindClick;
+import com.example.runtime_annotation.BindView;
+
+/**
+ * 使用clazz模块BindInjector及生成的InjectUtil绑定的Activity，4个View、1个点击事件
+ */
+public class SmallGeneratedActivity extends Activity {
+    @BindView(Ids.V0)
+    View v0;
+    @BindView(Ids.V1)
+    View v1;
+    @BindView(Ids.V2)
+    View v2;
+    @BindView(Ids.V3)
+    View v3;
+
+    int clicks;
+
+    @BindClick(Ids.V3)
+    void onClick3() {
+        clicks++;
+    }
+}
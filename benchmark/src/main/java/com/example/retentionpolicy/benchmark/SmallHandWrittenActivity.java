@@ -0,0 +1,33 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+/**
+ * 手写findViewById及匿名OnClickListener绑定的Activity（基准），4个View、1个点击事件
+ */
+public class SmallHandWrittenActivity extends Activity {
+    View v0;
+    View v1;
+    View v2;
+    View v3;
+
+    int clicks;
+
+    void bind() {
+        v0 = findViewById(Ids.V0);
+        v1 = findViewById(Ids.V1);
+        v2 = findViewById(Ids.V2);
+        v3 = findViewById(Ids.V3);
+        v3.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                onClick3();
+            }
+        });
+    }
+
+    void onClick3() {
+        clicks++;
+    }
+}
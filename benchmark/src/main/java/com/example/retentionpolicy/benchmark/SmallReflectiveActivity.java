@@ -0,0 +1,28 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.example.retentionpolicy.runtime.FindViewById;
+import com.example.retentionpolicy.runtime.SetOnClickById;
+
+/**
+ * 使用runtime模块ViewInjector反射绑定的Activity，4个View、1个点击事件
+ */
+public class SmallReflectiveActivity extends Activity {
+    @FindViewById(Ids.V0)
+    private View v0;
+    @FindViewById(Ids.V1)
+    private View v1;
+    @FindViewById(Ids.V2)
+    private View v2;
+    @FindViewById(Ids.V3)
+    private View v3;
+
+    int clicks;
+
+    @SetOnClickById(Ids.V3)
+    private void onClick3() {
+        clicks++;
+    }
+}
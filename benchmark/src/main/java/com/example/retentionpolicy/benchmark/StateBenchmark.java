@@ -0,0 +1,143 @@
+package com.example.retentionpolicy.benchmark;
+
+import com.example.retentionpolicy.source.SignInProgress;
+import com.example.retentionpolicy.source.SignInStateDispatcher;
+import com.example.retentionpolicy.source.SignInStateSet;
+import com.example.retentionpolicy.source.SignInStateTransitions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 由@SignInState生成的SignInStateSet、SignInStateTransitions、SignInStateDispatcher与装箱写法的对照：
+ * Set&lt;Integer&gt;、Map&lt;Integer, Set&lt;Integer&gt;&gt;转换表及Map&lt;Integer, Runnable&gt;分发。
+ * 状态取值在Integer缓存范围内，装箱本身不分配，差异来自hashCode/equals及HashMap节点；build可加-prof gc对比分配
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+
+    private static final int[] STATES = {SignInProgress.START, SignInProgress.SUCCESS, SignInProgress.FAILURE};
+
+    private Set<Integer> boxedSet;
+    private SignInStateSet stateSet;
+    private Map<Integer, Set<Integer>> boxedTransitions;
+    private Map<Integer, Runnable> boxedHandlers;
+    private SignInStateDispatcher dispatcher;
+    private int handled;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        boxedSet = new HashSet<Integer>();
+        boxedSet.add(SignInProgress.START);
+        boxedSet.add(SignInProgress.FAILURE);
+        stateSet = SignInStateSet.of(SignInProgress.START, SignInProgress.FAILURE);
+
+        // 与@SignInState上声明的transitions相同
+        boxedTransitions = new HashMap<Integer, Set<Integer>>();
+        Set<Integer> fromStart = new HashSet<Integer>();
+        fromStart.add(SignInProgress.SUCCESS);
+        fromStart.add(SignInProgress.FAILURE);
+        boxedTransitions.put(SignInProgress.START, fromStart);
+        boxedTransitions.put(SignInProgress.FAILURE, Collections.singleton(SignInProgress.START));
+
+        Runnable handler = new Runnable() {
+            @Override
+            public void run() {
+                handled++;
+            }
+        };
+        boxedHandlers = new HashMap<Integer, Runnable>();
+        for (int state : STATES) {
+            boxedHandlers.put(state, handler);
+        }
+        dispatcher = new SignInStateDispatcher() {
+            @Override
+            protected void onStart() {
+                handled++;
+            }
+
+            @Override
+            protected void onSuccess() {
+                handled++;
+            }
+
+            @Override
+            protected void onFailure() {
+                handled++;
+            }
+        };
+    }
+
+    private int nextState() {
+        int state = STATES[position];
+        position = position == STATES.length - 1 ? 0 : position + 1;
+        return state;
+    }
+
+    @Benchmark
+    public boolean boxedContains() {
+        return boxedSet.contains(nextState());
+    }
+
+    @Benchmark
+    public boolean stateSetContains() {
+        return stateSet.contains(nextState());
+    }
+
+    @Benchmark
+    public Object boxedBuild() {
+        Set<Integer> set = new HashSet<Integer>();
+        set.add(nextState());
+        set.add(nextState());
+        return set;
+    }
+
+    @Benchmark
+    public Object stateSetBuild() {
+        return SignInStateSet.of(nextState(), nextState());
+    }
+
+    @Benchmark
+    public boolean boxedTransition() {
+        Set<Integer> targets = boxedTransitions.get(nextState());
+        return targets != null && targets.contains(nextState());
+    }
+
+    @Benchmark
+    public boolean tableTransition() {
+        return SignInStateTransitions.isAllowed(nextState(), nextState());
+    }
+
+    @Benchmark
+    public int boxedDispatch() {
+        boxedHandlers.get(nextState()).run();
+        return handled;
+    }
+
+    @Benchmark
+    public int switchDispatch() {
+        dispatcher.dispatch(nextState());
+        return handled;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.view.View;
+
+import com.example.retentionpolicy.clazz.BindInjector;
+import com.example.retentionpolicy.clazz.ViewBinder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每秒绑定ViewHolder的次数：同一个holder交替绑定到两个item View上，模拟复用时的重新绑定
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewHolderBenchmark {
+
+    private static final ViewBinder<ItemViewHolder> BINDER = BindInjector.getViewBinder(ItemViewHolder.class);
+
+    private final ItemViewHolder holder = new ItemViewHolder();
+    private final View[] itemViews = new View[2];
+    private int position;
+
+    @Setup
+    public void setUp() {
+        itemViews[0] = ViewTrees.create(2, Ids.SMALL);
+        itemViews[1] = ViewTrees.create(2, Ids.SMALL);
+    }
+
+    @Benchmark
+    public Object handWritten() {
+        holder.bindByHand(itemViews[position++ & 1]);
+        return holder;
+    }
+
+    @Benchmark
+    public Object generated() {
+        BINDER.bind(holder, itemViews[position++ & 1]);
+        return holder;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.example.retentionpolicy.runtime.ViewResolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 逐个findViewById、ViewResolver一次遍历批量查找与按@BindLayout预先计算的子View下标路径查找的对比
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewResolverBenchmark {
+
+    @Param({"4", "16", "64"})
+    int treeDepth;
+
+    @Param({"small", "large"})
+    String ids;
+
+    private int[] sortedIds;
+    private ViewGroup root;
+    private View[] views;
+    private Activity activity;
+    private int[][] paths;
+
+    @Setup
+    public void setUp() {
+        sortedIds = "small".equals(ids) ? Ids.SMALL : Ids.LARGE;
+        root = ViewTrees.create(treeDepth, sortedIds);
+        views = new View[sortedIds.length];
+        activity = new Activity();
+        activity.setContentView(root);
+        ViewGroup content = (ViewGroup) activity.findViewById(android.R.id.content);
+        paths = new int[sortedIds.length][];
+        for (int i = 0; i < sortedIds.length; i++) {
+            paths[i] = ViewTrees.pathOf(content, root.findViewById(sortedIds[i]));
+        }
+    }
+
+    @Benchmark
+    public View[] findViewByIdEach() {
+        for (int i = 0; i < sortedIds.length; i++) {
+            views[i] = root.findViewById(sortedIds[i]);
+        }
+        return views;
+    }
+
+    @Benchmark
+    public View[] findViewsById() {
+        ViewResolver.findViewsById(root, sortedIds, views);
+        return views;
+    }
+
+    @Benchmark
+    public View[] findViewsByPath() {
+        ViewResolver.findViewsByPath(activity, sortedIds, paths, views);
+        return views;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.retentionpolicy.benchmark;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * 生成合成的View树：depth层嵌套的ViewGroup，每层有FILLERS个无id的View，
+ * ids对应的View均匀分布在各层中（最后一个在最深层），模拟层级很深的表单布局
+ */
+public final class ViewTrees {
+
+    static final int FILLERS = 3;
+
+    private ViewTrees() {
+    }
+
+    public static ViewGroup create(int depth, int[] ids) {
+        ViewGroup root = new ViewGroup();
+        ViewGroup group = root;
+        int next = 0;
+        for (int level = 0; level < depth; level++) {
+            for (int i = 0; i < FILLERS; i++) {
+                group.addView(new View());
+            }
+            // 第level层放置的id个数，保证所有id在depth层内放完
+            int end = (int) ((long) ids.length * (level + 1) / depth);
+            for (; next < end; next++) {
+                View view = new View();
+                view.setId(ids[next]);
+                group.addView(view);
+            }
+            if (level < depth - 1) {
+                ViewGroup child = new ViewGroup();
+                group.addView(child);
+                group = child;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @return view相对于ancestor的子View下标路径
+     */
+    public static int[] pathOf(ViewGroup ancestor, View view) {
+        int depth = 0;
+        for (View v = view; v != ancestor; v = (View) v.getParent()) {
+            depth++;
+        }
+        int[] path = new int[depth];
+        for (View v = view; v != ancestor; v = (View) v.getParent()) {
+            ViewGroup parent = (ViewGroup) v.getParent();
+            path[--depth] = parent.indexOfChild(v);
+        }
+        return path;
+    }
+}
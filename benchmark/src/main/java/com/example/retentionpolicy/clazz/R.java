@@ -0,0 +1,11 @@
+package com.example.retentionpolicy.clazz;
+
+/**
+ * clazz库R类的替身（Android构建时由clazz的res生成），只保留用到的id
+ */
+public final class R {
+
+    public static final class id {
+        public static final int bind_target = 0x7f0b0001;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.retentionpolicy.clazz;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @BindClick(async = true)方法的执行器，由生成的ClickDispatcher为每个异步点击方法创建一个：
+ * 点击时将call提交到executor执行，上一次调用未结束时忽略新的点击；
+ * 有结果回调时在主线程调用onResult，回调结束后才接受下一次点击，否则call返回后即可再次点击。
+ * call抛出的异常不会被捕获，与同步点击方法一样由executor线程的UncaughtExceptionHandler处理
+ */
+
+public abstract class AsyncClick<T> implements Runnable {
+
+    private static volatile Executor executor;
+
+    private final boolean hasResult;
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private View view;
+    private T result;
+    /**
+     * 在主线程分发结果，同一时刻最多一次调用在进行中，可重复使用
+     */
+    private final Runnable deliverResult = new Runnable() {
+        @Override
+        public void run() {
+            T value = result;
+            result = null;
+            try {
+                if (!cancelled) {
+                    onResult(value);
+                }
+            } finally {
+                inFlight.set(false);
+            }
+        }
+    };
+
+    /**
+     * @param hasResult 是否需要在主线程调用onResult
+     */
+    protected AsyncClick(boolean hasResult) {
+        this.hasResult = hasResult;
+    }
+
+    /**
+     * 替换执行异步点击方法的Executor（如应用统一的后台线程池），传入null恢复为默认实现，应在首次点击之前调用
+     */
+    public static void setExecutor(Executor executor) {
+        AsyncClick.executor = executor;
+    }
+
+    private static Executor getExecutor() {
+        Executor current = executor;
+        return current != null ? current : DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * 在点击所在的主线程调用：提交call到executor
+     *
+     * @return 上一次调用仍在进行或已cancel时返回false，本次点击被忽略
+     */
+    public final boolean submit(View view) {
+        if (cancelled || !inFlight.compareAndSet(false, true)) {
+            return false;
+        }
+        this.view = view;
+        try {
+            getExecutor().execute(this);
+        } catch (RejectedExecutionException e) {
+            this.view = null;
+            inFlight.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 解除绑定时调用：之后的点击被忽略，进行中的调用不再回调onResult
+     */
+    public final void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 是否有调用在进行中（call或待分发的onResult）
+     */
+    public final boolean isInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public final void run() {
+        View clicked = view;
+        view = null;
+        boolean posted = false;
+        try {
+            T value = call(clicked);
+            if (hasResult && !cancelled) {
+                result = value;
+                posted = MainHandlerHolder.HANDLER.post(deliverResult);
+            }
+        } finally {
+            if (!posted) {
+                result = null;
+                inFlight.set(false);
+            }
+        }
+    }
+
+    /**
+     * 在executor线程执行被注解的方法
+     */
+    protected abstract T call(View view);
+
+    /**
+     * 在主线程接收call的返回值
+     */
+    protected void onResult(T result) {
+    }
+
+    private static final class MainHandlerHolder {
+        static final Handler HANDLER = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * 默认Executor：按需创建线程，空闲60秒后回收；每个异步点击方法同一时刻最多占用一个线程
+     */
+    private static final class DefaultExecutorHolder {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "BindClick #" + count.incrementAndGet());
+            }
+        });
+    }
+}
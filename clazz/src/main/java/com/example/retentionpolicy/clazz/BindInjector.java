@@ -1,11 +1,18 @@
 package com.example.retentionpolicy.clazz;
 
 import android.app.Activity;
-import android.util.Log;
+import android.os.Bundle;
+import android.view.View;
 
+import com.example.retentionpolicy.runtime.InjectMetrics;
+
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 /**
  * 注入处理器
@@ -16,23 +23,153 @@ public class BindInjector {
     /**
      * BindAnnotationProcessor生成的java文件后缀名
      */
-    private static final String SUFFIX = "_InjectUtil";
+    static final String SUFFIX = "_InjectUtil";
+    /**
+     * BindAnnotationProcessor默认生成的BinderRegistry实现类
+     */
+    private static final String GENERATED_REGISTRY = "com.example.retentionpolicy.clazz.GeneratedBinderRegistry";
+    /**
+     * 类 -> Binder的缓存，没有Binder的类缓存为NO_OP，避免重复Class.forName；可并发注入
+     */
+    private static final ConcurrentMap<Class<?>, Binder<Object>> BINDERS = new ConcurrentHashMap<Class<?>, Binder<Object>>();
+    private static final ConcurrentMap<Class<?>, ViewBinder<Object>> VIEW_BINDERS = new ConcurrentHashMap<Class<?>, ViewBinder<Object>>();
+    /**
+     * 类 -> StateBinder的缓存，没有@BindState的类（含父类）缓存为NO_OP_STATE_BINDER
+     */
+    private static final ConcurrentMap<Class<?>, StateBinder<Object>> STATE_BINDERS = new ConcurrentHashMap<Class<?>, StateBinder<Object>>();
+    /**
+     * 生成类 -> {VIEW_COUNT, LISTENER_COUNT}，只在设置了统计回调时读取；手写的Binder没有这些常量，为UNKNOWN_COUNTS
+     */
+    private static final ConcurrentMap<Class<?>, int[]> BINDING_COUNTS = new ConcurrentHashMap<Class<?>, int[]>();
+    private static final int[] NO_COUNTS = {0, 0};
+    private static final int[] UNKNOWN_COUNTS = {-1, -1};
+    private static final List<BinderRegistry> REGISTRIES = new CopyOnWriteArrayList<BinderRegistry>();
+    private static final Binder<Object> NO_OP = new Binder<Object>() {
+        @Override
+        public Unbinder bind(Object target) {
+            return Unbinder.EMPTY;
+        }
+    };
+
+    private static final ViewBinder<Object> NO_OP_VIEW_BINDER = new ViewBinder<Object>() {
+        @Override
+        public void bind(Object target, View source) {
+        }
+    };
+
+    private static final StateBinder<Object> NO_OP_STATE_BINDER = new StateBinder<Object>() {
+        @Override
+        public void save(Object target, Bundle state) {
+        }
+
+        @Override
+        public void restore(Object target, Bundle state) {
+        }
+
+        @Override
+        public int estimateSize(Object target) {
+            return 0;
+        }
+    };
+
+    static {
+        try {
+            REGISTRIES.add((BinderRegistry) Class.forName(GENERATED_REGISTRY).newInstance());
+        } catch (ClassNotFoundException e) {
+            //没有生成BinderRegistry（如没有使用BinderRegistryProcessor），查找xx_InjectUtil类
+        } catch (Exception e) {
+            throw new UnableToInjectException("Unable to load " + GENERATED_REGISTRY, e);
+        }
+    }
+
+    /**
+     * 注册其他模块生成的BinderRegistry（通过处理器参数bind.module指定了类名后缀的模块）
+     */
+    public static void addRegistry(BinderRegistry registry) {
+        REGISTRIES.add(registry);
+    }
 
-    private static final String TAG = "BindInjector";
-    private static final Map<Class<?>, Method> INJECT_UTILS = new LinkedHashMap<Class<?>, Method>();
-    private static final Method NO_OP = null;
+    /**
+     * 在executor上预先查找并缓存classes对应的Binder/ViewBinder（类加载、Class.forName、getMethod及父类查找），
+     * 之后主线程的inject/bind直接命中缓存。可在Application.onCreate中调用；
+     * 与同时进行的inject并发安全：两者查找结果相同，以先写入缓存者为准
+     */
+    public static void prewarm(Executor executor, Class<?>... classes) {
+        final Class<?>[] targets = classes.clone();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Class<?> cls : targets) {
+                    prewarmClass(cls);
+                }
+            }
+        });
+    }
 
     /**
-     * 为xxActivity找到并调用xxActivity_InjectUtil工具类的inject方法进行注入
+     * 在executor上预先加载所有已注册BinderRegistry中的被注解类及其Binder（见{@link BinderRegistry#getTargetClassNames()}），
+     * 未实现getTargetClassNames的旧BinderRegistry被跳过
      */
-    public static void inject(Activity activity) {
+    public static void prewarm(Executor executor) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (BinderRegistry registry : REGISTRIES) {
+                    String[] classNames;
+                    try {
+                        classNames = registry.getTargetClassNames();
+                    } catch (AbstractMethodError e) {
+                        //旧版本生成或手写的BinderRegistry没有该方法，跳过预热
+                        continue;
+                    }
+                    ClassLoader loader = registry.getClass().getClassLoader();
+                    for (String className : classNames) {
+                        try {
+                            prewarmClass(Class.forName(className, true, loader));
+                        } catch (ClassNotFoundException e) {
+                            //类已被移除（如混淆时被裁剪），inject时不会用到
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    private static void prewarmClass(Class<?> cls) {
+        try {
+            if (Activity.class.isAssignableFrom(cls)) {
+                findBinderForClass(cls);
+                findStateBinderForClass(cls);
+            } else {
+                findViewBinderForClass(cls);
+            }
+        } catch (Exception e) {
+            //预热只是优化，查找失败时不缓存，错误留到主线程inject时带上下文抛出
+        }
+    }
+
+    /**
+     * 为xxActivity找到对应的Binder（优先查找BinderRegistry，其次是xxActivity_InjectUtil类）进行注入
+     *
+     * @return 解除绑定的Unbinder，没有注解绑定时返回Unbinder.EMPTY
+     */
+    public static Unbinder inject(Activity activity) {
         Class<?> targetClass = activity.getClass();
+        InjectMetrics.Listener metrics = InjectMetrics.getListener();
         try {
-            Log.d(TAG, "Looking up view injector for " + targetClass.getName());
-            Method inject = findInjectUtilMethodForClass(targetClass);
-            if (inject != NO_OP) {
-                inject.invoke(null, activity);
+            if (metrics == InjectMetrics.NONE) {
+                return findBinderForClass(targetClass).bind(activity);
             }
+            long start = System.nanoTime();
+            Binder<Object> binder = BINDERS.get(targetClass);
+            metrics.onCacheLookup(targetClass, binder != null);
+            if (binder == null) {
+                binder = findBinderForClass(targetClass);
+            }
+            Unbinder unbinder = binder.bind(activity);
+            int[] counts = binder != NO_OP ? getBindingCounts(getBinderClass(binder)) : NO_COUNTS;
+            metrics.onInject(targetClass, System.nanoTime() - start, counts[0], counts[1]);
+            return unbinder;
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -41,29 +178,235 @@ public class BindInjector {
     }
 
     /**
-     * 查找cls对应的工具类方法并进行缓存
+     * 将非Activity类的target（如ViewHolder）绑定到source上，可重复调用以重新绑定
      */
-    private static Method findInjectUtilMethodForClass(Class<?> cls) throws NoSuchMethodException {
-        Method inject = INJECT_UTILS.get(cls);
-        if (inject != null) {
-            Log.d(TAG, "HIT: Cached in injector map.");
-            return inject;
+    @SuppressWarnings("unchecked")
+    public static void bind(Object target, View source) {
+        Class<?> targetClass = target.getClass();
+        InjectMetrics.Listener metrics = InjectMetrics.getListener();
+        if (metrics == InjectMetrics.NONE) {
+            ((ViewBinder<Object>) getViewBinder(targetClass)).bind(target, source);
+            return;
+        }
+        long start = System.nanoTime();
+        metrics.onCacheLookup(targetClass, VIEW_BINDERS.containsKey(targetClass));
+        ViewBinder<Object> binder = (ViewBinder<Object>) getViewBinder(targetClass);
+        binder.bind(target, source);
+        int[] counts = binder != NO_OP_VIEW_BINDER ? getBindingCounts(binder.getClass()) : NO_COUNTS;
+        metrics.onInject(targetClass, System.nanoTime() - start, counts[0], counts[1]);
+    }
+
+    /**
+     * 获取cls对应的ViewBinder（查找结果会缓存），可保存为静态常量在创建ViewHolder时直接使用
+     *
+     * @return 没有注解绑定时返回空实现
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ViewBinder<T> getViewBinder(Class<T> cls) {
+        try {
+            return (ViewBinder<T>) findViewBinderForClass(cls);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnableToInjectException("Unable to find view binder for " + cls, e);
+        }
+    }
+
+    /**
+     * 将target（含父类）的@BindState成员变量写入state，在onSaveInstanceState中调用
+     */
+    public static void saveState(Activity target, Bundle state) {
+        getStateBinder(target.getClass()).save(target, state);
+    }
+
+    /**
+     * 从state恢复target（含父类）的@BindState成员变量，在onCreate或onRestoreInstanceState中调用，
+     * state为null（首次创建）时不做任何事
+     */
+    public static void restoreState(Activity target, Bundle state) {
+        if (state != null) {
+            getStateBinder(target.getClass()).restore(target, state);
+        }
+    }
+
+    /**
+     * 估算saveState写入的字节数（Parcel格式，不含Bundle头部），用于在调试时发现过大的实例状态
+     * （实例状态经Binder传给系统，过大时抛出TransactionTooLargeException）。
+     * key、基本类型在编译时算出，String、数组按长度计算，Parcelable、Bundle、Serializable需实际序列化一次
+     */
+    public static int estimateStateSize(Activity target) {
+        return getStateBinder(target.getClass()).estimateSize(target);
+    }
+
+    private static StateBinder<Object> getStateBinder(Class<?> cls) {
+        try {
+            return findStateBinderForClass(cls);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnableToInjectException("Unable to find state binder for " + cls, e);
+        }
+    }
+
+    /**
+     * 供Injector选择注入方式：cls（含父类）有生成的Binder时返回该Binder，否则返回null
+     */
+    static Binder<Object> findBinder(Class<?> cls) {
+        try {
+            Binder<Object> binder = findBinderForClass(cls);
+            return binder != NO_OP ? binder : null;
+        } catch (NoSuchMethodException e) {
+            throw new UnableToInjectException("Unable to find binder for " + cls, e);
+        }
+    }
+
+    /**
+     * @return binder的实现类：生成的Binder或通过反射调用的xx_InjectUtil类
+     */
+    static Class<?> getBinderClass(Binder<Object> binder) {
+        return binder instanceof MethodBinder ? ((MethodBinder) binder).inject.getDeclaringClass() : binder.getClass();
+    }
+
+    /**
+     * @return 生成类binderClass的{VIEW_COUNT, LISTENER_COUNT}常量（含父类，编译时算出），读取结果会缓存
+     */
+    static int[] getBindingCounts(Class<?> binderClass) {
+        int[] counts = BINDING_COUNTS.get(binderClass);
+        if (counts == null) {
+            try {
+                counts = new int[] {binderClass.getField("VIEW_COUNT").getInt(null),
+                        binderClass.getField("LISTENER_COUNT").getInt(null)};
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                counts = UNKNOWN_COUNTS;
+            }
+            BINDING_COUNTS.putIfAbsent(binderClass, counts);
+        }
+        return counts;
+    }
+
+    /**
+     * 查找cls对应的ViewBinder并进行缓存，与findBinderForClass相同，依次查找BinderRegistry、xx_InjectUtil类及父类
+     */
+    @SuppressWarnings("unchecked")
+    private static ViewBinder<Object> findViewBinderForClass(Class<?> cls)
+            throws InstantiationException, IllegalAccessException {
+        ViewBinder<Object> binder = VIEW_BINDERS.get(cls);
+        if (binder != null) {
+            return binder;
+        }
+        String clsName = cls.getName();
+        if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
+            return NO_OP_VIEW_BINDER;
+        }
+        for (BinderRegistry registry : REGISTRIES) {
+            if (registry instanceof ViewBinderRegistry) {
+                binder = (ViewBinder<Object>) ((ViewBinderRegistry) registry).getViewBinder(cls);
+                if (binder != null) {
+                    break;
+                }
+            }
+        }
+        if (binder == null) {
+            Object generated;
+            try {
+                generated = Class.forName(clsName + SUFFIX).newInstance();
+            } catch (ClassNotFoundException e) {
+                generated = findViewBinderForClass(cls.getSuperclass());
+            }
+            if (!(generated instanceof ViewBinder)) {
+                //Activity（含父类）生成的xx_InjectUtil不是ViewBinder
+                throw new UnableToInjectException(clsName + SUFFIX + " is not a ViewBinder, use inject(Activity) for " + cls, null);
+            }
+            binder = (ViewBinder<Object>) generated;
+        }
+        ViewBinder<Object> existing = VIEW_BINDERS.putIfAbsent(cls, binder);
+        return existing != null ? existing : binder;
+    }
+
+    /**
+     * 查找cls对应的Binder并进行缓存
+     */
+    private static Binder<Object> findBinderForClass(Class<?> cls) throws NoSuchMethodException {
+        Binder<Object> binder = BINDERS.get(cls);
+        if (binder != null) {
+            return binder;
         }
         String clsName = cls.getName();
         if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
-            Log.d(TAG, "MISS: Reached framework class. Abandoning search.");
             return NO_OP;
         }
-        try {
-            Class<?> injector = Class.forName(clsName + SUFFIX);
-            inject = injector.getMethod("inject", cls);
-            Log.d(TAG, "HIT: Class loaded injection class.");
-        } catch (ClassNotFoundException e) {
-            Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
-            inject = findInjectUtilMethodForClass(cls.getSuperclass());
+        binder = findRegisteredBinder(cls);
+        if (binder == null) {
+            try {
+                Class<?> injector = Class.forName(clsName + SUFFIX);
+                binder = new MethodBinder(injector.getMethod("inject", cls));
+            } catch (ClassNotFoundException e) {
+                binder = findBinderForClass(cls.getSuperclass());
+            }
+        }
+        Binder<Object> existing = BINDERS.putIfAbsent(cls, binder);
+        return existing != null ? existing : binder;
+    }
+
+    /**
+     * 查找cls对应的StateBinder并进行缓存：有@BindState的类生成的InjectUtil同时实现StateBinder，
+     * 依次查找BinderRegistry、xx_InjectUtil类，没有或未实现StateBinder时查找父类
+     */
+    @SuppressWarnings("unchecked")
+    private static StateBinder<Object> findStateBinderForClass(Class<?> cls)
+            throws InstantiationException, IllegalAccessException {
+        StateBinder<Object> binder = STATE_BINDERS.get(cls);
+        if (binder != null) {
+            return binder;
+        }
+        String clsName = cls.getName();
+        if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
+            return NO_OP_STATE_BINDER;
+        }
+        Object generated = findRegisteredBinder(cls);
+        if (generated == null) {
+            try {
+                generated = Class.forName(clsName + SUFFIX).newInstance();
+            } catch (ClassNotFoundException e) {
+                //没有生成类，查找父类
+            }
+        }
+        binder = generated instanceof StateBinder
+                ? (StateBinder<Object>) generated : findStateBinderForClass(cls.getSuperclass());
+        StateBinder<Object> existing = STATE_BINDERS.putIfAbsent(cls, binder);
+        return existing != null ? existing : binder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Binder<Object> findRegisteredBinder(Class<?> cls) {
+        for (BinderRegistry registry : REGISTRIES) {
+            Binder<?> binder = registry.getBinder(cls);
+            if (binder != null) {
+                return (Binder<Object>) binder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 没有注册到BinderRegistry的xxActivity_InjectUtil类，通过反射调用其静态inject方法
+     */
+    private static class MethodBinder implements Binder<Object> {
+        private final Method inject;
+
+        MethodBinder(Method inject) {
+            this.inject = inject;
+        }
+
+        @Override
+        public Unbinder bind(Object target) {
+            try {
+                Object unbinder = inject.invoke(null, target);
+                return unbinder instanceof Unbinder ? (Unbinder) unbinder : Unbinder.EMPTY;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new UnableToInjectException("Unable to inject views for " + target, e);
+            }
         }
-        INJECT_UTILS.put(cls, inject);
-        return inject;
     }
 
     private static class UnableToInjectException extends RuntimeException {
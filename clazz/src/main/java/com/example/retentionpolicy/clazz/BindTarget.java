@@ -0,0 +1,27 @@
+package com.example.retentionpolicy.clazz;
+
+import android.view.View;
+
+/**
+ * 生成的ViewBinder将绑定对象（如ViewHolder）以tag保存在设置了点击的View上：
+ * 每个ViewBinder类型只有一个无状态的ClickDispatcher，点击时从View中取出绑定对象，
+ * 因此重新bind只需更新tag，不会为每个绑定对象分配Listener
+ */
+
+public final class BindTarget {
+
+    private BindTarget() {
+    }
+
+    public static void set(View view, Object target) {
+        view.setTag(R.id.bind_target, target);
+    }
+
+    /**
+     * @return 最近一次绑定到view上的对象，未绑定时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(View view) {
+        return (T) view.getTag(R.id.bind_target);
+    }
+}
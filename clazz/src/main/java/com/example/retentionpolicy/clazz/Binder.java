@@ -0,0 +1,12 @@
+package com.example.retentionpolicy.clazz;
+
+/**
+ * BindAnnotationProcessor生成的xxActivity_InjectUtil类实现的接口，通过接口直接调用完成注入，无需反射
+ */
+
+public interface Binder<T> {
+    /**
+     * @return 解除本次绑定的Unbinder
+     */
+    Unbinder bind(T target);
+}
@@ -0,0 +1,20 @@
+package com.example.retentionpolicy.clazz;
+
+/**
+ * 被注解类与其Binder的映射表，由BindAnnotationProcessor为每个编译模块生成一个实现；
+ * 非Activity类的ViewBinder见{@link ViewBinderRegistry}
+ */
+
+public interface BinderRegistry {
+
+    /**
+     * @return targetClass自身对应的Binder（不查找父类），没有时返回null
+     */
+    Binder<?> getBinder(Class<?> targetClass);
+
+    /**
+     * @return 本模块所有被注解类的全名（Class.getName()），用于BindInjector.prewarm预先加载；
+     * 在此方法加入前编译的实现调用时抛出AbstractMethodError，prewarm会跳过该注册表
+     */
+    String[] getTargetClassNames();
+}
@@ -0,0 +1,180 @@
+package com.example.retentionpolicy.clazz;
+
+import android.app.Activity;
+
+import com.example.retentionpolicy.runtime.BoundEvents;
+import com.example.retentionpolicy.runtime.InjectMetrics;
+import com.example.retentionpolicy.runtime.ViewInjector;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 统一的注入入口：同时支持@BindView/@BindClick（编译时生成Binder）与@FindViewById/@SetOnClickById（运行时反射）的Activity，
+ * 每个类只判断一次使用哪种方式并缓存，之后直接走对应的最快路径。可逐个页面迁移到生成代码，调用处无需修改
+ */
+
+public final class Injector {
+
+    /**
+     * 注入方式
+     */
+    public enum Strategy {
+        /**
+         * 使用编译时生成的Binder
+         */
+        GENERATED,
+        /**
+         * 使用ViewInjector反射绑定
+         */
+        REFLECTIVE,
+        /**
+         * 迁移中的类：继承链中两种注解都有，先反射绑定再调用生成的Binder
+         */
+        MIXED,
+        /**
+         * 没有任何注解绑定
+         */
+        NONE
+    }
+
+    /**
+     * 类 -> 注入方式及生成的Binder，可并发注入
+     */
+    private static final ConcurrentMap<Class<?>, Entry> ENTRIES = new ConcurrentHashMap<Class<?>, Entry>();
+
+    private Injector() {
+    }
+
+    /**
+     * 按cls缓存的注入方式进行注入。统计（InjectMetrics）中反射部分由ViewInjector回调，
+     * 生成的Binder部分由这里回调，MIXED时同一次注入会有两次onInject
+     *
+     * @return 生成的Binder返回的Unbinder；反射绑定的部分有事件监听时，unbind同时停止这些监听。
+     * 反射绑定没有事件监听及没有注解绑定时返回Unbinder.EMPTY
+     */
+    public static Unbinder inject(Activity target) {
+        Entry entry = getEntry(target.getClass());
+        switch (entry.strategy) {
+            case GENERATED:
+                return bindGenerated(entry, target);
+            case REFLECTIVE:
+                return withEvents(ViewInjector.bind(target), Unbinder.EMPTY);
+            case MIXED:
+                BoundEvents events = ViewInjector.bind(target);
+                return withEvents(events, bindGenerated(entry, target));
+            default:
+                return Unbinder.EMPTY;
+        }
+    }
+
+    /**
+     * @return unbind时先停止反射绑定的事件监听，再调用unbinder
+     */
+    private static Unbinder withEvents(final BoundEvents events, final Unbinder unbinder) {
+        if (events == BoundEvents.EMPTY) {
+            return unbinder;
+        }
+        return new Unbinder() {
+            @Override
+            public void unbind() {
+                events.detach();
+                unbinder.unbind();
+            }
+        };
+    }
+
+    private static Unbinder bindGenerated(Entry entry, Activity target) {
+        InjectMetrics.Listener metrics = InjectMetrics.getListener();
+        if (metrics == InjectMetrics.NONE) {
+            return entry.binder.bind(target);
+        }
+        long start = System.nanoTime();
+        Unbinder unbinder = entry.binder.bind(target);
+        int[] counts = BindInjector.getBindingCounts(BindInjector.getBinderClass(entry.binder));
+        metrics.onInject(target.getClass(), System.nanoTime() - start, counts[0], counts[1]);
+        return unbinder;
+    }
+
+    /**
+     * @return cls使用的注入方式（首次调用时判断并缓存），可用于统计各页面的迁移情况
+     */
+    public static Strategy getStrategy(Class<? extends Activity> cls) {
+        return getEntry(cls).strategy;
+    }
+
+    /**
+     * 在executor上预先判断并缓存classes的注入方式（同时预热生成的Binder或反射绑定计划）
+     */
+    public static void prewarm(Executor executor, Class<?>... classes) {
+        final Class<?>[] targets = classes.clone();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Class<?> cls : targets) {
+                    try {
+                        getEntry(cls);
+                    } catch (RuntimeException e) {
+                        //预热失败不缓存，错误留到主线程inject时再抛出
+                    }
+                }
+            }
+        });
+    }
+
+    private static Entry getEntry(Class<?> cls) {
+        Entry entry = ENTRIES.get(cls);
+        if (entry == null) {
+            //先查找生成的Binder，没有时才反射解析绑定计划
+            Binder<Object> binder = BindInjector.findBinder(cls);
+            Strategy strategy;
+            if (binder != null) {
+                strategy = hasReflectiveBindings(cls, binder) ? Strategy.MIXED : Strategy.GENERATED;
+            } else {
+                strategy = ViewInjector.hasBindings(cls) ? Strategy.REFLECTIVE : Strategy.NONE;
+            }
+            entry = new Entry(strategy, binder);
+            Entry existing = ENTRIES.putIfAbsent(cls, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 有生成的Binder时判断是否还有反射绑定：生成Binder的类及其父类由处理器在编译时判断（实现MixedBinder），
+     * 只需检查其下没有生成Binder的子类（如已迁移的BaseActivity的子类仍使用@FindViewById）自身声明的注解
+     */
+    private static boolean hasReflectiveBindings(Class<?> cls, Binder<Object> binder) {
+        Class<?> binderClass = BindInjector.getBinderClass(binder);
+        if (MixedBinder.class.isAssignableFrom(binderClass)) {
+            return true;
+        }
+        //不是生成的xx_InjectUtil（如手写的BinderRegistry）时无法确定对应的类，检查整个继承链
+        String binderName = binderClass.getName();
+        String binderTarget = binderName.endsWith(BindInjector.SUFFIX)
+                ? binderName.substring(0, binderName.length() - BindInjector.SUFFIX.length()) : null;
+        for (Class<?> c = cls; c != null && !c.getName().equals(binderTarget); c = c.getSuperclass()) {
+            String name = c.getName();
+            if (name.startsWith("android.") || name.startsWith("java.")) {
+                break;
+            }
+            if (ViewInjector.hasDeclaredBindings(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        final Strategy strategy;
+        final Binder<Object> binder;
+
+        Entry(Strategy strategy, Binder<Object> binder) {
+            this.strategy = strategy;
+            this.binder = binder;
+        }
+    }
+}
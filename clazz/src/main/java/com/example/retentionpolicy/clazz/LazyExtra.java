@@ -0,0 +1,65 @@
+package com.example.retentionpolicy.clazz;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * @BindExtra(lazy = true)成员变量的类型：持有IntentBuilder序列化的byte[]，首次get()时才反序列化并缓存结果。
+ * Bundle在第一次读取时会反序列化其中所有的Parcelable，写成byte[]后只复制字节，不用到的对象不会被创建。
+ * byte[]只能在同一应用内传递（Parcel格式与版本相关），对象不能包含Binder、文件描述符。只能在主线程使用
+ */
+
+public final class LazyExtra<T extends Parcelable> {
+
+    private byte[] data;
+    private final ClassLoader classLoader;
+    private T value;
+
+    /**
+     * @param data        {@link #marshall(Parcelable)}的结果，extra不存在时为null，此时get()返回null
+     * @param classLoader 加载Parcelable类的ClassLoader
+     */
+    public LazyExtra(byte[] data, ClassLoader classLoader) {
+        this.data = data;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 供生成的IntentBuilder调用：将value序列化为byte[]
+     */
+    public static byte[] marshall(Parcelable value) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(value, 0);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * @return 反序列化的对象，extra不存在时返回null
+     */
+    public T get() {
+        if (data != null) {
+            Parcel parcel = Parcel.obtain();
+            try {
+                parcel.unmarshall(data, 0, data.length);
+                parcel.setDataPosition(0);
+                value = parcel.readParcelable(classLoader);
+            } finally {
+                parcel.recycle();
+            }
+            //反序列化后释放字节
+            data = null;
+        }
+        return value;
+    }
+
+    /**
+     * 是否已反序列化（不会触发反序列化）
+     */
+    public boolean isResolved() {
+        return data == null;
+    }
+}
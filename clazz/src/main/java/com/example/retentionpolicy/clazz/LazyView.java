@@ -0,0 +1,62 @@
+package com.example.retentionpolicy.clazz;
+
+import android.view.View;
+import android.view.ViewStub;
+
+/**
+ * @BindView(lazy = true)成员变量的类型：首次get()时才查找View并缓存结果。
+ * 查找到的是ViewStub时（LazyView<ViewStub>除外）将其inflate并返回inflate出的View；
+ * 未找到时不缓存，之后再次get()会重新查找（如ViewStub在别处inflate后才出现的View）
+ */
+
+public final class LazyView<V extends View> {
+
+    private View root;
+    private final int id;
+    private final boolean inflateStub;
+    private V view;
+
+    public LazyView(View root, int id, boolean inflateStub) {
+        this.root = root;
+        this.id = id;
+        this.inflateStub = inflateStub;
+    }
+
+    /**
+     * @return 查找到的View，未找到或已clear()时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public V get() {
+        if (view == null && root != null) {
+            View found = root.findViewById(id);
+            if (inflateStub && found instanceof ViewStub) {
+                found = ((ViewStub) found).inflate();
+            }
+            view = (V) found;
+        }
+        return view;
+    }
+
+    /**
+     * 是否已查找到View（不会触发查找）
+     */
+    public boolean isResolved() {
+        return view != null;
+    }
+
+    /**
+     * 改为在root中查找并丢弃已查找到的View，供生成的ViewBinder在重新bind（如ViewHolder复用）时复用同一个LazyView
+     */
+    public void reset(View root) {
+        this.root = root;
+        view = null;
+    }
+
+    /**
+     * 释放对View树的引用，之后get()返回null
+     */
+    public void clear() {
+        root = null;
+        view = null;
+    }
+}
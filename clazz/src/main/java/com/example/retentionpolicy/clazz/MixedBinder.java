@@ -0,0 +1,10 @@
+package com.example.retentionpolicy.clazz;
+
+/**
+ * 标记接口：被注解Activity或其父类中还有运行时反射绑定的注解（@FindViewById、@SetOnClickById等）时，
+ * BindAnnotationProcessor生成的xx_InjectUtil类实现该接口。Injector据此在编译时的判断下选择MIXED方式，
+ * 有生成的Binder时不需要反射解析绑定计划
+ */
+
+public interface MixedBinder {
+}
@@ -0,0 +1,25 @@
+package com.example.retentionpolicy.clazz;
+
+import android.os.Bundle;
+
+/**
+ * 有@BindState成员变量的Activity生成的xxActivity_InjectUtil同时实现的接口，读写实例状态无需反射。
+ * 实现类先处理父类的@BindState成员变量，再处理自身的
+ */
+
+public interface StateBinder<T> {
+    /**
+     * 将@BindState成员变量写入state
+     */
+    void save(T target, Bundle state);
+
+    /**
+     * 从state恢复@BindState成员变量，state为null时不做任何事
+     */
+    void restore(T target, Bundle state);
+
+    /**
+     * @return save写入state的估算字节数（Parcel格式），见{@link StateSize}
+     */
+    int estimateSize(T target);
+}
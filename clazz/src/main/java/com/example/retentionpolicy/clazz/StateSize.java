@@ -0,0 +1,140 @@
+package com.example.retentionpolicy.clazz;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.io.Serializable;
+
+/**
+ * 估算@BindState成员变量写入Bundle后在Parcel中占用的字节数，供生成的estimateStateSize调用。
+ * Bundle中每一项为key（writeString）+ 4字节类型标记 + 取值，key、类型标记及基本类型由处理器在编译时算出，
+ * 这里的ofXxx只计算引用类型的取值部分（方法名后缀与Bundle的putXxx一致），null时只有类型标记，返回0。
+ * String及数组等按长度计算不分配对象；Parcelable、Bundle、Serializable需要实际写入Parcel一次，不宜在每次保存时调用。
+ * 结果不含Bundle自身的头部；部分系统版本的Parcel.writeValue不识别char、short[]、char[]、float[]、double[]，
+ * 以Serializable写入，这里均按Serializable的格式计算（char由处理器计入编译时的字节数）
+ */
+
+public final class StateSize {
+
+    private StateSize() {
+    }
+
+    /**
+     * Parcel.writeString：4字节长度 + UTF-16字符及结尾的0，按4字节对齐
+     */
+    public static int ofString(String value) {
+        return value != null ? stringSize(value.length()) : 0;
+    }
+
+    /**
+     * TextUtils.writeToParcel：4字节类型 + 文本，Spanned的样式不计算在内
+     */
+    public static int ofCharSequence(CharSequence value) {
+        return value != null ? 4 + stringSize(value.length()) : 0;
+    }
+
+    public static int ofStringArray(String[] value) {
+        if (value == null) {
+            return 0;
+        }
+        int size = 4;
+        for (String element : value) {
+            //null元素写入长度-1
+            size += element != null ? stringSize(element.length()) : 4;
+        }
+        return size;
+    }
+
+    /**
+     * boolean逐个以int写入
+     */
+    public static int ofBooleanArray(boolean[] value) {
+        return value != null ? 4 + value.length * 4 : 0;
+    }
+
+    public static int ofByteArray(byte[] value) {
+        return value != null ? 4 + align(value.length) : 0;
+    }
+
+    public static int ofShortArray(short[] value) {
+        return value != null ? ofSerializableArray(value.length * 2) : 0;
+    }
+
+    public static int ofCharArray(char[] value) {
+        return value != null ? ofSerializableArray(value.length * 2) : 0;
+    }
+
+    public static int ofIntArray(int[] value) {
+        return value != null ? 4 + value.length * 4 : 0;
+    }
+
+    public static int ofLongArray(long[] value) {
+        return value != null ? 4 + value.length * 8 : 0;
+    }
+
+    public static int ofFloatArray(float[] value) {
+        return value != null ? ofSerializableArray(value.length * 4) : 0;
+    }
+
+    public static int ofDoubleArray(double[] value) {
+        return value != null ? ofSerializableArray(value.length * 8) : 0;
+    }
+
+    public static int ofParcelable(Parcelable value) {
+        if (value == null) {
+            return 0;
+        }
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(value, 0);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    public static int ofBundle(Bundle value) {
+        if (value == null) {
+            return 0;
+        }
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeBundle(value);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    public static int ofSerializable(Serializable value) {
+        if (value == null) {
+            return 0;
+        }
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeSerializable(value);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * 以Serializable写入的基本类型数组：类名（如"[S"，writeString）+ byte[]（4字节长度 + 对象流，按4字节对齐），
+     * 对象流为27字节的头部及数组描述 + 元素
+     *
+     * @param dataSize 元素的总字节数
+     */
+    static int ofSerializableArray(int dataSize) {
+        return stringSize(2) + 4 + align(27 + dataSize);
+    }
+
+    private static int stringSize(int length) {
+        return 4 + align((length + 1) * 2);
+    }
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+}
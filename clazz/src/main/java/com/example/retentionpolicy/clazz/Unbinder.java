@@ -0,0 +1,20 @@
+package com.example.retentionpolicy.clazz;
+
+/**
+ * BindInjector.inject返回的解除绑定句柄：移除设置的Listener并将注入的成员变量置null，
+ * 避免Activity销毁后仍持有整棵View树（通常在onDestroy中调用）
+ */
+
+public interface Unbinder {
+
+    /**
+     * 解除绑定，只能调用一次
+     */
+    void unbind();
+
+    Unbinder EMPTY = new Unbinder() {
+        @Override
+        public void unbind() {
+        }
+    };
+}
@@ -0,0 +1,13 @@
+package com.example.retentionpolicy.clazz;
+
+import android.view.View;
+
+/**
+ * BindAnnotationProcessor为非Activity类（如RecyclerView.ViewHolder）生成的xx_InjectUtil类实现的接口。
+ * 实现类无状态，每个类型一个实例即可重复使用；bind时一次遍历source查找View，
+ * 同一个target可以重新bind到另一个View上，且重新bind时不分配对象（复用已有的LazyView，点击Listener每个类型一个）
+ */
+
+public interface ViewBinder<T> {
+    void bind(T target, View source);
+}
@@ -0,0 +1,15 @@
+package com.example.retentionpolicy.clazz;
+
+/**
+ * 非Activity类与其ViewBinder的映射表，生成的BinderRegistry同时实现该接口。
+ * 独立于BinderRegistry，已有的（手写或旧版本生成的）BinderRegistry实现无需修改，
+ * BindInjector只对实现了该接口的注册表查找ViewBinder
+ */
+
+public interface ViewBinderRegistry {
+
+    /**
+     * @return 非Activity类targetClass自身对应的ViewBinder（不查找父类），没有时返回null
+     */
+    ViewBinder<?> getViewBinder(Class<?> targetClass);
+}
@@ -0,0 +1,113 @@
+package com.example.retentionpolicy.clazz;
+
+import android.app.Activity;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * BindInjector对没有Binder的类的缓存：重复inject不应再次Class.forName查找xx_InjectUtil
+ */
+public class BindInjectorTest {
+
+    private static final String PACKAGE = "com.example.retentionpolicy.clazz.";
+
+    public static class PlainActivity extends Activity {
+    }
+
+    public static class ChildActivity extends PlainActivity {
+    }
+
+    @Test
+    public void injectWithoutBinderLoadsClassesOnce() throws Exception {
+        CountingClassLoader loader = new CountingClassLoader(getClass().getClassLoader());
+        //BindInjector由loader定义，其Class.forName经过loader，缓存也与其他测试隔离
+        Class<?> injector = loader.loadClass(PACKAGE + "BindInjector");
+        Method inject = injector.getMethod("inject", Activity.class);
+        Object empty = loader.loadClass(PACKAGE + "Unbinder").getField("EMPTY").get(null);
+        Activity activity = (Activity) loader.loadClass(ChildActivity.class.getName()).newInstance();
+
+        assertSame(empty, inject.invoke(null, activity));
+        //ChildActivity_InjectUtil、PlainActivity_InjectUtil各查找一次，到android.app.Activity停止
+        assertEquals(2, loader.getInjectUtilLookups().size());
+
+        for (int i = 0; i < 5; i++) {
+            assertSame(empty, inject.invoke(null, activity));
+        }
+        assertEquals(2, loader.getInjectUtilLookups().size());
+
+        //父类的查找结果同样已缓存为NO_OP
+        Activity parent = (Activity) loader.loadClass(PlainActivity.class.getName()).newInstance();
+        assertSame(empty, inject.invoke(null, parent));
+        assertEquals(2, loader.getInjectUtilLookups().size());
+    }
+
+    /**
+     * 自行定义clazz包中的类（子优先），记录对xx_InjectUtil类的加载请求
+     */
+    private static class CountingClassLoader extends ClassLoader {
+        private final List<String> injectUtilLookups = new ArrayList<String>();
+
+        CountingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        List<String> getInjectUtilLookups() {
+            return injectUtilLookups;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.endsWith("_InjectUtil")) {
+                injectUtilLookups.add(name);
+            }
+            if (!name.startsWith(PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                byte[] bytes = readClass(name);
+                if (bytes == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                loaded = defineClass(name, bytes, 0, bytes.length);
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (in == null) {
+                return null;
+            }
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            } finally {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.retentionpolicy.clazz;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * StateSize按长度计算的结果与Parcel的写入格式一致（Serializable部分按对象流的实际长度核对）
+ */
+public class StateSizeTest {
+
+    @Test
+    public void stringSize() {
+        assertEquals(0, StateSize.ofString(null));
+        //4字节长度 + 结尾的0（2字节）对齐为4
+        assertEquals(8, StateSize.ofString(""));
+        assertEquals(12, StateSize.ofString("ab"));
+        assertEquals(12, StateSize.ofString("abc"));
+        assertEquals(16, StateSize.ofString("abcd"));
+        assertEquals(16, StateSize.ofCharSequence("abc"));
+    }
+
+    @Test
+    public void stringArraySize() {
+        assertEquals(0, StateSize.ofStringArray(null));
+        assertEquals(4, StateSize.ofStringArray(new String[0]));
+        //null元素只有长度-1
+        assertEquals(4 + 12 + 4, StateSize.ofStringArray(new String[]{"ab", null}));
+    }
+
+    @Test
+    public void primitiveArraySize() {
+        assertEquals(4 + 3 * 4, StateSize.ofBooleanArray(new boolean[3]));
+        assertEquals(4 + 8, StateSize.ofByteArray(new byte[5]));
+        assertEquals(4 + 3 * 4, StateSize.ofIntArray(new int[3]));
+        assertEquals(4 + 3 * 8, StateSize.ofLongArray(new long[3]));
+        assertEquals(0, StateSize.ofIntArray(null));
+    }
+
+    @Test
+    public void serializableArraySize() throws IOException {
+        for (int length : new int[]{0, 1, 3, 10}) {
+            assertEquals(serializableSize(new short[length]), StateSize.ofShortArray(new short[length]));
+            assertEquals(serializableSize(new char[length]), StateSize.ofCharArray(new char[length]));
+            assertEquals(serializableSize(new float[length]), StateSize.ofFloatArray(new float[length]));
+            assertEquals(serializableSize(new double[length]), StateSize.ofDoubleArray(new double[length]));
+        }
+        assertEquals(0, StateSize.ofDoubleArray(null));
+    }
+
+    /**
+     * Parcel.writeSerializable：类名（writeString）+ 对象流（writeByteArray）
+     */
+    private static int serializableSize(Serializable value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(value);
+        out.close();
+        return StateSize.ofString(value.getClass().getName()) + 4 + ((bytes.size() + 3) & ~3);
+    }
+}
@@ -13,4 +13,16 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.CLASS)
 public @interface BindClick {
     int value();
+
+    /**
+     * 为true时点击不在主线程调用被注解的方法，而是提交到后台Executor执行（见clazz库AsyncClick.setExecutor），
+     * 上一次调用未结束时忽略新的点击；此时方法可以有返回值。只支持Activity（解除绑定时取消进行中的调用）
+     */
+    boolean async() default false;
+
+    /**
+     * async为true时，方法执行完毕后在主线程调用的同一类中的方法名：
+     * 无参数，或只有一个参数接收被注解方法的返回值
+     */
+    String onResult() default "";
 }
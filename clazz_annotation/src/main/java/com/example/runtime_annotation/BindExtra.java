@@ -0,0 +1,27 @@
+package com.example.runtime_annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 绑定Activity启动Intent中的extra（只支持Activity）：inject时按成员变量类型调用Intent对应的getXxxExtra（不复制extras），
+ * 基本类型不装箱，extra不存在时成员变量保持原值；同时为每个非抽象的Activity（含只继承了父类@BindExtra的子类）
+ * 生成xxActivity_IntentBuilder，以相同的key及类型写入extras。
+ * 支持基本类型、String、CharSequence、Bundle、Parcelable、Serializable及基本类型数组、String[]
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.CLASS)
+public @interface BindExtra {
+    /**
+     * extra的key，默认为成员变量名
+     */
+    String value() default "";
+
+    /**
+     * 为true时成员变量类型须为LazyExtra<T>，T实现Parcelable（不支持通配符）：IntentBuilder将对象序列化为byte[]写入，
+     * inject只取出byte[]，首次调用LazyExtra.get()时才反序列化（适用于较大且不一定用到的对象）
+     */
+    boolean lazy() default false;
+}
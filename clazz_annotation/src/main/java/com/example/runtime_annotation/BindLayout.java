@@ -0,0 +1,18 @@
+package com.example.runtime_annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明Activity通过setContentView使用的布局（R.layout.xxx）。
+ * 处理器参数bind.resDir指定了res目录时，编译时检查@BindView/@BindViews/@BindClick的id是否在布局中及类型是否兼容，
+ * 并生成按子View下标直接定位的代码；运行时布局与编译时不一致时退回按id遍历查找。
+ * 布局文件不是javac的输入，需在build.gradle中将res目录声明为编译任务的输入，修改布局后才会重新检查
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface BindLayout {
+    int value();
+}
@@ -0,0 +1,26 @@
+package com.example.runtime_annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 绑定id对应View自身的滚动（scrollX/scrollY变化，如ScrollView），高频的滚动事件按debounce/throttle合并后调用被注解的方法（只支持Activity）。
+ * 方法无参数，或只有一个View（或其子类，滚动的View）参数；debounce与throttle（毫秒）最多设置一个，都为0时每次滚动都调用
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.CLASS)
+public @interface BindScroll {
+    int value();
+
+    /**
+     * 事件停止debounce毫秒后调用一次（如滚动停止后再加载）
+     */
+    long debounce() default 0;
+
+    /**
+     * 第一个事件立即调用，之后每throttle毫秒最多调用一次，窗口内的事件合并为窗口结束时的一次调用
+     */
+    long throttle() default 0;
+}
@@ -0,0 +1,22 @@
+package com.example.runtime_annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 保存/恢复Activity的实例状态（只支持Activity）：生成的InjectUtil按成员变量类型直接调用Bundle的putXxx/getXxx，
+ * 基本类型不装箱，state中没有对应key时成员变量保持原值。在onSaveInstanceState中调用BindInjector.saveState，
+ * 在onCreate中调用BindInjector.restoreState，BindInjector.estimateStateSize估算写入的字节数。
+ * 支持的类型与@BindExtra相同，Serializable类型编译时会警告（序列化慢且体积大，应改为Parcelable）
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.CLASS)
+public @interface BindState {
+    /**
+     * state中的key，默认由处理器参数bind.stateKeys决定：qualified（默认，类名.成员变量名）、field（成员变量名）、
+     * compact（#加36进制下标，最短；下标依赖声明顺序，保存与恢复须为同一次编译的代码，实例状态满足这一点）
+     */
+    String value() default "";
+}
@@ -9,4 +9,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.CLASS)
 public @interface BindView {
     int value();
+
+    /**
+     * 为true时inject不查找View，首次调用LazyView.get()时才查找（适用于很少用到的View，如错误提示、ViewStub），
+     * 此时成员变量类型须为LazyView<T>，T为View或其子类（不支持通配符，生成代码需创建该类型的LazyView）
+     */
+    boolean lazy() default false;
 }
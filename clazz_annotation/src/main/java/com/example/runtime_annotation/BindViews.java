@@ -0,0 +1,18 @@
+package com.example.runtime_annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 将一组id对应的View绑定到一个数组或List成员变量上（如验证码输入框、评分星星），
+ * 成员变量类型须为View（或其子类）数组，或List<View（或其子类）>。
+ * 与@BindView、@BindClick的id一起在一次View树遍历中查找；元素顺序与value一致，未找到的元素为null。
+ * 可配合ViewCollections对整组View进行操作
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.CLASS)
+public @interface BindViews {
+    int[] value();
+}
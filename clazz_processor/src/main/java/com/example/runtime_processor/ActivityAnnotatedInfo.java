@@ -1,17 +1,26 @@
 package com.example.runtime_processor;
 
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import javax.lang.model.element.Modifier;
 
 /**
- * 存储Activity中注解相关View信息
+ * 存储Activity（或其他绑定到View上的类，如ViewHolder）中注解相关View信息
  * Created by YON on 2017/1/19.
  */
 
@@ -20,22 +29,185 @@ class ActivityAnnotatedInfo {
      * 生成的java文件后缀名
      */
     public static final String SUFFIX = "_InjectUtil";
+    /**
+     * 生成类实现的接口（clazz库中的Binder）
+     */
+    static final ClassName BINDER = ClassName.get("com.example.retentionpolicy.clazz", "Binder");
+    /**
+     * 非Activity类生成类实现的接口（clazz库中的ViewBinder）
+     */
+    static final ClassName VIEW_BINDER = ClassName.get("com.example.retentionpolicy.clazz", "ViewBinder");
 
-    private final Map<Integer, IdAnnotatedInfo> viewIdMap = new LinkedHashMap<>();
+    static final ClassName VIEW = ClassName.get("android.view", "View");
+    static final ClassName ON_CLICK_LISTENER = VIEW.nestedClass("OnClickListener");
+    private static final String CLICK_DISPATCHER = "ClickDispatcher";
+    /**
+     * clazz库中的Unbinder，inject返回其实现
+     */
+    static final ClassName UNBINDER = ClassName.get("com.example.retentionpolicy.clazz", "Unbinder");
+    private static final String INJECT_UNBINDER = "InjectUnbinder";
+    /**
+     * runtime库中的批量查找View工具类
+     */
+    static final ClassName VIEW_RESOLVER = ClassName.get("com.example.retentionpolicy.runtime", "ViewResolver");
+    /**
+     * runtime库中的trace工具类，trace为true时生成代码在inject及点击处理方法前后调用
+     */
+    static final ClassName BIND_TRACE = ClassName.get("com.example.retentionpolicy.runtime", "BindTrace");
+    /**
+     * clazz库中@BindClick(async = true)方法的执行器
+     */
+    static final ClassName ASYNC_CLICK = ClassName.get("com.example.retentionpolicy.clazz", "AsyncClick");
+    /**
+     * runtime库中合并文本变化、滚动事件的监听器
+     */
+    static final ClassName EVENT_COALESCER = ClassName.get("com.example.retentionpolicy.runtime", "EventCoalescer");
+    static final ClassName TEXT_VIEW = ClassName.get("android.widget", "TextView");
+    static final ClassName BUNDLE = ClassName.get("android.os", "Bundle");
+    static final ClassName INTENT = ClassName.get("android.content", "Intent");
+    static final ClassName CONTEXT = ClassName.get("android.content", "Context");
+    /**
+     * ViewBinder在设置了点击的View上保存绑定对象
+     */
+    static final ClassName BIND_TARGET = ClassName.get("com.example.retentionpolicy.clazz", "BindTarget");
+    /**
+     * clazz库中@BindExtra(lazy = true)成员变量的类型
+     */
+    static final ClassName LAZY_EXTRA = ClassName.get("com.example.retentionpolicy.clazz", "LazyExtra");
+    /**
+     * 有@BindExtra的Activity生成的IntentBuilder类名后缀，及其固定的方法名（extra对应的方法名不能与之相同）
+     */
+    static final String INTENT_BUILDER_SUFFIX = "_IntentBuilder";
+    static final String BUILDER_BUILD = "build";
+    static final String BUILDER_START = "start";
+    /**
+     * 有@BindState的Activity生成类同时实现的接口（clazz库中的StateBinder），及估算字节数的工具类
+     */
+    static final ClassName STATE_BINDER = ClassName.get("com.example.retentionpolicy.clazz", "StateBinder");
+    static final ClassName STATE_SIZE = ClassName.get("com.example.retentionpolicy.clazz", "StateSize");
+    /**
+     * 继承链中还有运行时反射绑定注解的Activity生成类实现的标记接口
+     */
+    static final ClassName MIXED_BINDER = ClassName.get("com.example.retentionpolicy.clazz", "MixedBinder");
+
+    /**
+     * id -> 注解信息，按id升序排列
+     */
+    private final TreeMap<Integer, IdAnnotatedInfo> viewIdMap = new TreeMap<>();
+    /**
+     * @BindViews成员变量，按声明顺序
+     */
+    private final List<AnnotatedGroup> groups = new ArrayList<>();
+    /**
+     * @BindTextChanged、@BindScroll方法，按声明顺序
+     */
+    private final List<AnnotatedEvent> events = new ArrayList<>();
+    /**
+     * @BindExtra成员变量，按声明顺序，父类的在后（只用于IntentBuilder）
+     */
+    private final List<AnnotatedExtra> extras = new ArrayList<>();
+    /**
+     * @BindState成员变量，按声明顺序（不含父类的，由父类的InjectUtil读写）
+     */
+    private final List<AnnotatedState> states = new ArrayList<>();
     private final String classPackage;//类所在包的包名
-    private final String className;//类的名称
+    private final String className;//类的名称（内部类为Outer$Inner）
+    private final ClassName targetName;//类在源码中引用的名称（内部类为Outer.Inner）
+    private final boolean activityTarget;//是否为Activity，否则绑定到传入的View上
+    private ClassName parentBinder;//最近的有注解绑定的父类对应的InjectUtil类
+    private ClassName parentStateBinder;//最近的有@BindState的父类对应的InjectUtil类
+    private boolean trace;//是否生成trace区段（处理器参数bind.trace）
+    private boolean mixed;//类或父类中是否还有运行时反射绑定的注解
+    private Map<Integer, int[]> viewPaths;//@BindLayout布局中id -> 从android.R.id.content开始的子View下标路径
 
-    ActivityAnnotatedInfo(String classPackage, String className) {
+    ActivityAnnotatedInfo(String classPackage, String className, ClassName targetName, boolean activityTarget) {
         this.classPackage = classPackage;
         this.className = className;
+        this.targetName = targetName;
+        this.activityTarget = activityTarget;
     }
 
     void addBindField(int id, String name, String type) {
-        getTargetIdAnnotatedInfo(id).field = new AnnotatedField(name, type);
+        getTargetIdAnnotatedInfo(id).field = new AnnotatedField(name, type, false, false);
+    }
+
+    void addLazyBindField(int id, String name, String type, boolean inflateStub) {
+        getTargetIdAnnotatedInfo(id).field = new AnnotatedField(name, type, true, inflateStub);
+    }
+
+    void addBindViewsField(int[] ids, String name, String elementType, boolean list) {
+        groups.add(new AnnotatedGroup(name, elementType, ids, list));
+        for (int id : ids) {
+            getTargetIdAnnotatedInfo(id).grouped = true;
+        }
+    }
+
+    /**
+     * @param textChanged 为true时监听文本变化，否则监听滚动
+     */
+    void addEventMethod(int id, String name, String parameterType, boolean textChanged,
+                        long debounceMillis, long throttleMillis) {
+        events.add(new AnnotatedEvent(id, name, parameterType, textChanged, debounceMillis, throttleMillis));
+        getTargetIdAnnotatedInfo(id).evented = true;
+    }
+
+    /**
+     * @param bundleType Bundle读写方法的后缀，如Int对应getInt/putInt
+     * @param primitive  是否为基本类型（读取时以成员变量原值作为默认值）
+     * @param inherited  是否为父类的成员变量（由父类的InjectUtil读取，这里只加入IntentBuilder）
+     */
+    void addExtra(String key, String name, String builderMethod, TypeName type, String bundleType,
+                  boolean primitive, boolean inherited) {
+        extras.add(new AnnotatedExtra(key, name, builderMethod, type, bundleType, primitive, false, inherited));
+    }
+
+    /**
+     * @param type LazyExtra的类型参数（Parcelable类型）
+     */
+    void addLazyExtra(String key, String name, String builderMethod, TypeName type, boolean inherited) {
+        extras.add(new AnnotatedExtra(key, name, builderMethod, type, "ByteArray", false, true, inherited));
+    }
+
+    /**
+     * @param bundleType Bundle读写方法的后缀，如Int对应getInt/putInt
+     * @param fixedSize  key、类型标记及基本类型取值的字节数（编译时确定）
+     */
+    void addState(String key, String name, TypeName type, String bundleType, boolean primitive, int fixedSize) {
+        states.add(new AnnotatedState(key, name, type, bundleType, primitive, fixedSize));
     }
 
     void addBindMethod(int id, String name, String parameterType) {
-        getTargetIdAnnotatedInfo(id).method = new AnnotatedMethod(name, parameterType);
+        getTargetIdAnnotatedInfo(id).method = new AnnotatedMethod(name, parameterType, false, null, null, false);
+    }
+
+    /**
+     * @param resultType   方法返回值装箱后的类型，void时为java.lang.Void
+     * @param resultMethod 在主线程接收结果的方法名，没有时为null
+     */
+    void addAsyncBindMethod(int id, String name, String parameterType, TypeName resultType,
+                            String resultMethod, boolean resultTakesValue) {
+        getTargetIdAnnotatedInfo(id).method = new AnnotatedMethod(name, parameterType, true, resultType,
+                resultMethod, resultTakesValue);
+    }
+
+    void setParentBinder(ClassName parentBinder) {
+        this.parentBinder = parentBinder;
+    }
+
+    void setParentStateBinder(ClassName parentStateBinder) {
+        this.parentStateBinder = parentStateBinder;
+    }
+
+    void setMixed(boolean mixed) {
+        this.mixed = mixed;
+    }
+
+    void setTrace(boolean trace) {
+        this.trace = trace;
+    }
+
+    void setViewPaths(Map<Integer, int[]> viewPaths) {
+        this.viewPaths = viewPaths;
     }
 
     private IdAnnotatedInfo getTargetIdAnnotatedInfo(int id) {
@@ -51,57 +223,739 @@ class ActivityAnnotatedInfo {
         return classPackage + "." + className;
     }
 
+    ClassName getBinderClassName() {
+        return ClassName.get(classPackage, className + SUFFIX);
+    }
+
+    boolean isActivityTarget() {
+        return activityTarget;
+    }
+
+    boolean hasExtras() {
+        return !extras.isEmpty();
+    }
+
+    boolean hasState() {
+        return !states.isEmpty();
+    }
+
+    ClassName getIntentBuilderClassName() {
+        return ClassName.get(classPackage, className + INTENT_BUILDER_SUFFIX);
+    }
+
     /**
      * 使用JavaPoet创建Java文件
      */
     JavaFile createBinderClassFile() {
+        if (!activityTarget) {
+            return createViewBinderClassFile();
+        }
         final String acName = getActivityName();
-        ClassName targetActivityName = ClassName.get(classPackage, className);
+        ClassName targetActivityName = targetName;
         //方法名（Bind）
         MethodSpec.Builder injectMethodBuilder = MethodSpec.methodBuilder("inject")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                .returns(void.class)
+                .returns(UNBINDER)
                 .addParameter(targetActivityName, "activity",Modifier.FINAL);
+        CodeBlock.Builder injectCode = CodeBlock.builder();
+        //解除绑定：移除Listener，成员变量置null，最后解除父类的绑定
+        CodeBlock.Builder unbindCode = CodeBlock.builder();
+        //先绑定父类
+        if (parentBinder != null) {
+            injectCode.addStatement("$T parentUnbinder = $T.inject(activity)", UNBINDER, parentBinder);
+        }
+        injectCode.add(createExtrasCode());
+        //需要立即查找的id（非lazy的@BindView、@BindViews及@BindClick、@BindTextChanged、@BindScroll），升序排列
+        List<Integer> eagerIds = new ArrayList<>();
+        for (IdAnnotatedInfo annotatedInfo : viewIdMap.values()) {
+            if (annotatedInfo.isEager()) {
+                eagerIds.add(annotatedInfo.id);
+            }
+        }
+        //一次遍历View树查找所有id（IDS按id升序排列，views[i]对应IDS[i]）；
+        //有布局信息时按PATHS[i]直接定位，布局不一致时ViewResolver退回遍历查找
+        boolean usePaths = !eagerIds.isEmpty() && viewPaths != null && viewPaths.keySet().containsAll(eagerIds);
+        if (!eagerIds.isEmpty()) {
+            injectCode.addStatement("$T[] views = new $T[$L]", VIEW, VIEW, eagerIds.size());
+            if (usePaths) {
+                injectCode.addStatement("$T.findViewsByPath(activity, IDS, PATHS, views)", VIEW_RESOLVER);
+            } else {
+                injectCode.addStatement("$T.findViewsById(activity, IDS, views)", VIEW_RESOLVER);
+            }
+        }
+        //lazy的@BindView在首次访问时才从root中查找
+        if (hasLazyBindings()) {
+            injectCode.addStatement("$T root = activity.getWindow().getDecorView()", VIEW);
+        }
+        //所有点击事件共用一个按id分发的ClickDispatcher，异步点击方法各有一个AsyncClick成员
+        CodeBlock.Builder clickCases = CodeBlock.builder();
+        List<FieldSpec> asyncTasks = new ArrayList<>();
+        if (hasClickBindings()) {
+            injectCode.addStatement("$N clickDispatcher = new $N(activity)", CLICK_DISPATCHER, CLICK_DISPATCHER);
+        }
         //遍历处理每个View
         for (Map.Entry<Integer, IdAnnotatedInfo> entry : viewIdMap.entrySet()) {
             IdAnnotatedInfo annotatedInfo = entry.getValue();
             AnnotatedField field = annotatedInfo.field;
             AnnotatedMethod method = annotatedInfo.method;
-            if (field != null) {
-                String findViewStatement = "activity." + field.name + " = (" + field.type + ")activity.findViewById(" + annotatedInfo.id + ")";
-                injectMethodBuilder.addStatement(findViewStatement);
+            int index = eagerIds.indexOf(annotatedInfo.id);
+            if (field != null && field.lazy) {
+                injectCode.addStatement("activity." + field.name + " = new " + field.type
+                        + "(root, " + annotatedInfo.id + ", " + field.inflateStub + ")");
+                unbindCode.beginControlFlow("if (activity." + field.name + " != null)")
+                        .addStatement("activity." + field.name + ".clear()")
+                        .endControlFlow();
+            } else if (field != null) {
+                String findViewStatement = "activity." + field.name + " = (" + field.type + ")views[" + index + "]";
+                injectCode.addStatement(findViewStatement);
             }
             if (method != null) {
                 String variable;
-                if (field != null) {
+                if (field != null && !field.lazy) {
                     variable = "activity."+field.name;
-                } else {//只设置了Click
-                    variable = "activity.findViewById(" + annotatedInfo.id + ")";
+                } else {//只设置了Click，或View为lazy
+                    variable = "views[" + index + "]";
                 }
-                String paramStatement = "";
-                if (method.parameterType != null) {
-                    paramStatement = "(" + method.parameterType + ")view";
-                }
-                String setClickStatement =
-                        variable + ".setOnClickListener(new android.view.View.OnClickListener(){\n" +
-                                "   public void onClick(android.view.View view) {\n" +
-                                "       activity."+method.name+"("+paramStatement+");\n" +
-                                "   }})";
-                injectMethodBuilder.addStatement(setClickStatement);
+                injectCode.addStatement(variable + ".setOnClickListener(clickDispatcher)");
+                unbindCode.addStatement("views[" + index + "].setOnClickListener(null)");
+                addClickCase(clickCases, asyncTasks, annotatedInfo.id, method);
             }
-
         }
-        MethodSpec injectMethod = injectMethodBuilder.build();
+        for (AnnotatedGroup group : groups) {
+            injectCode.add(createGroupStatement("activity", group, eagerIds));
+        }
+        //文本变化、滚动事件由EventCoalescer合并后再调用处理方法，解除绑定时停止监听
+        boolean holdEvents = !events.isEmpty();
+        if (holdEvents) {
+            injectCode.addStatement("$T[] events = new $T[$L]", EVENT_COALESCER, EVENT_COALESCER, events.size());
+            for (int i = 0; i < events.size(); i++) {
+                injectCode.addStatement("events[$L] = $L", i, createEventCoalescer(events.get(i), eagerIds));
+                injectCode.addStatement("events[$L].attach()", i);
+                unbindCode.addStatement("events[$L].detach()", i);
+            }
+            unbindCode.addStatement("events = null");
+        }
+        for (IdAnnotatedInfo annotatedInfo : viewIdMap.values()) {
+            if (annotatedInfo.field != null) {
+                unbindCode.addStatement("activity." + annotatedInfo.field.name + " = null");
+            }
+        }
+        for (AnnotatedGroup group : groups) {
+            unbindCode.addStatement("activity." + group.name + " = null");
+        }
+        //进行中的异步点击不再回调Activity
+        boolean cancelClicks = !asyncTasks.isEmpty();
+        if (cancelClicks) {
+            unbindCode.addStatement("clickDispatcher.cancel()")
+                    .addStatement("clickDispatcher = null");
+        }
+        if (parentBinder != null) {
+            unbindCode.addStatement("parentUnbinder.unbind()");
+        }
+        injectCode.addStatement("return new $N(activity, $L$L$L$L)", INJECT_UNBINDER,
+                eagerIds.isEmpty() ? "null" : "views", parentBinder != null ? ", parentUnbinder" : "",
+                cancelClicks ? ", clickDispatcher" : "", holdEvents ? ", events" : "");
+        if (hasUncheckedExtras()) {
+            injectMethodBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+        MethodSpec injectMethod = injectMethodBuilder.addCode(traced(className + ".inject", injectCode.build())).build();
+        FieldSpec idsField = createIdsField(eagerIds);
+        //实现Binder接口，供BinderRegistry直接调用
+        MethodSpec bindMethod = MethodSpec.methodBuilder("bind")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(UNBINDER)
+                .addParameter(targetActivityName, "target")
+                .addStatement("return inject(target)")
+                .build();
         //类名为：Activity名+$$InjectUtil.java
-        TypeSpec binderClass = TypeSpec.classBuilder(className + SUFFIX)
+        TypeSpec.Builder binderClass = TypeSpec.classBuilder(className + SUFFIX)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(BINDER, targetActivityName))
                 .addMethod(injectMethod)
-                .build();
-        return JavaFile.builder(classPackage, binderClass)
+                .addMethod(bindMethod);
+        if (mixed) {
+            binderClass.addSuperinterface(MIXED_BINDER);
+        }
+        addCountFields(binderClass, eagerIds.size(), countClickBindings() + events.size());
+        if (hasState()) {
+            addStateMethods(binderClass);
+        }
+        if (!eagerIds.isEmpty()) {
+            binderClass.addField(idsField);
+        }
+        if (usePaths) {
+            binderClass.addField(createPathsField(eagerIds));
+        }
+        if (hasClickBindings()) {
+            binderClass.addType(createClickDispatcherClass(targetActivityName, clickCases.build(), asyncTasks, false));
+        }
+        binderClass.addType(createInjectUnbinderClass(targetActivityName, unbindCode.build(),
+                parentBinder != null, cancelClicks ? getBinderClassName().nestedClass(CLICK_DISPATCHER) : null,
+                holdEvents));
+        return JavaFile.builder(classPackage, binderClass.build())
                 .addFileComment("auto generate InjectUtil class response to : $S ", acName)
                 .build();
     }
 
+    /**
+     * 非Activity类（如ViewHolder）：生成实现ViewBinder的类，一次遍历source查找所有需要立即查找的id。
+     * 同一个target可重复bind到新的View上，且重新bind时不分配对象：查找使用ViewResolver中线程复用的数组，
+     * 已有的LazyView改为在新的source中查找，点击由每个类型一个的静态ClickDispatcher分发（绑定对象以tag保存在View上）
+     */
+    private JavaFile createViewBinderClassFile() {
+        MethodSpec.Builder injectMethodBuilder = MethodSpec.methodBuilder("inject")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(targetName, "target")
+                .addParameter(VIEW, "source");
+        CodeBlock.Builder injectCode = CodeBlock.builder();
+        //先绑定父类
+        if (parentBinder != null) {
+            injectCode.addStatement("$T.inject(target, source)", parentBinder);
+        }
+        //需要立即查找的id，IDS按id升序排列，views[i]对应IDS[i]
+        List<Integer> eagerIds = new ArrayList<>();
+        for (IdAnnotatedInfo annotatedInfo : viewIdMap.values()) {
+            if (annotatedInfo.isEager()) {
+                eagerIds.add(annotatedInfo.id);
+            }
+        }
+        CodeBlock.Builder bindCode = CodeBlock.builder();
+        CodeBlock.Builder clickCases = CodeBlock.builder();
+        //ViewBinder不支持异步点击（处理器已报错），asyncTasks始终为空
+        List<FieldSpec> asyncTasks = new ArrayList<>();
+        for (IdAnnotatedInfo annotatedInfo : viewIdMap.values()) {
+            AnnotatedField field = annotatedInfo.field;
+            AnnotatedMethod method = annotatedInfo.method;
+            int index = eagerIds.indexOf(annotatedInfo.id);
+            if (field != null && field.lazy) {
+                bindCode.beginControlFlow("if (target." + field.name + " != null)")
+                        .addStatement("target." + field.name + ".reset(source)")
+                        .nextControlFlow("else")
+                        .addStatement("target." + field.name + " = new " + field.type
+                                + "(source, " + annotatedInfo.id + ", " + field.inflateStub + ")")
+                        .endControlFlow();
+            } else if (field != null) {
+                bindCode.addStatement("target." + field.name + " = (" + field.type + ")views[" + index + "]");
+            }
+            if (method != null) {
+                String variable;
+                if (field != null && !field.lazy) {
+                    variable = "target." + field.name;
+                } else {
+                    variable = "views[" + index + "]";
+                }
+                bindCode.addStatement("$T.set(" + variable + ", target)", BIND_TARGET)
+                        .addStatement(variable + ".setOnClickListener(CLICK_DISPATCHER)");
+                addClickCase(clickCases, asyncTasks, annotatedInfo.id, method);
+            }
+        }
+        for (AnnotatedGroup group : groups) {
+            bindCode.add(createGroupStatement("target", group, eagerIds));
+        }
+        if (!eagerIds.isEmpty()) {
+            injectCode.addStatement("$T[] views = $T.obtainViews($L)", VIEW, VIEW_RESOLVER, eagerIds.size())
+                    .beginControlFlow("try")
+                    .addStatement("$T.findViewsById(source, IDS, views)", VIEW_RESOLVER)
+                    .add(bindCode.build())
+                    .nextControlFlow("finally")
+                    .addStatement("$T.releaseViews(views, $L)", VIEW_RESOLVER, eagerIds.size())
+                    .endControlFlow();
+        } else {
+            injectCode.add(bindCode.build());
+        }
+        MethodSpec bindMethod = MethodSpec.methodBuilder("bind")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(targetName, "target")
+                .addParameter(VIEW, "source")
+                .addStatement("inject(target, source)")
+                .build();
+        TypeSpec.Builder binderClass = TypeSpec.classBuilder(className + SUFFIX)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(VIEW_BINDER, targetName))
+                .addMethod(injectMethodBuilder.addCode(traced(className + ".inject", injectCode.build())).build())
+                .addMethod(bindMethod);
+        addCountFields(binderClass, eagerIds.size(), countClickBindings());
+        if (!eagerIds.isEmpty()) {
+            binderClass.addField(createIdsField(eagerIds));
+        }
+        if (hasClickBindings()) {
+            binderClass.addField(FieldSpec.builder(getBinderClassName().nestedClass(CLICK_DISPATCHER), "CLICK_DISPATCHER",
+                    Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new $N()", CLICK_DISPATCHER)
+                    .build());
+            binderClass.addType(createClickDispatcherClass(targetName, clickCases.build(), asyncTasks, true));
+        }
+        return JavaFile.builder(classPackage, binderClass.build())
+                .addFileComment("auto generate InjectUtil class response to : $S ", getActivityName())
+                .build();
+    }
+
+    /**
+     * 生成ClickDispatcher中id对应的case：同步方法直接调用，异步方法提交到对应的AsyncClick成员（添加到asyncTasks）
+     */
+    private void addClickCase(CodeBlock.Builder clickCases, List<FieldSpec> asyncTasks, int id, AnnotatedMethod method) {
+        String paramStatement = "";
+        if (method.parameterType != null) {
+            paramStatement = "(" + method.parameterType + ")view";
+        }
+        String call = "target." + method.name + "(" + paramStatement + ")";
+        clickCases.add("case $L:\n", id).indent();
+        if (method.async) {
+            FieldSpec task = createAsyncClickField(method, call);
+            asyncTasks.add(task);
+            clickCases.addStatement("$N.submit(view)", task);
+        } else {
+            clickCases.add(traced(className + "." + method.name, CodeBlock.builder().addStatement(call).build()));
+        }
+        clickCases.addStatement("break").unindent();
+    }
+
+    /**
+     * 异步点击方法对应的AsyncClick：call在后台线程调用方法，有onResult方法时在主线程回调
+     */
+    private FieldSpec createAsyncClickField(AnnotatedMethod method, String call) {
+        boolean returnsVoid = method.resultType.equals(ClassName.get(Void.class));
+        CodeBlock.Builder callCode = CodeBlock.builder();
+        if (returnsVoid) {
+            callCode.addStatement(call).addStatement("return null");
+        } else {
+            callCode.addStatement("return " + call);
+        }
+        TypeSpec.Builder task = TypeSpec.anonymousClassBuilder("$L", method.resultMethod != null)
+                .superclass(ParameterizedTypeName.get(ASYNC_CLICK, method.resultType))
+                .addMethod(MethodSpec.methodBuilder("call")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PROTECTED)
+                        .returns(method.resultType)
+                        .addParameter(VIEW, "view")
+                        .addCode(traced(className + "." + method.name, callCode.build()))
+                        .build());
+        if (method.resultMethod != null) {
+            task.addMethod(MethodSpec.methodBuilder("onResult")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PROTECTED)
+                    .addParameter(method.resultType, "result")
+                    .addStatement("target." + method.resultMethod + (method.resultTakesValue ? "(result)" : "()"))
+                    .build());
+        }
+        return FieldSpec.builder(ParameterizedTypeName.get(ASYNC_CLICK, method.resultType), method.name + "Task",
+                Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("$L", task.build())
+                .build();
+    }
+
+    /**
+     * 事件对应的EventCoalescer匿名子类，合并后的事件调用activity的处理方法（文本变化传入当前文本，滚动传入View）
+     */
+    private CodeBlock createEventCoalescer(AnnotatedEvent event, List<Integer> eagerIds) {
+        CodeBlock call;
+        if (event.parameterType == null) {
+            call = CodeBlock.builder().addStatement("activity." + event.name + "()").build();
+        } else if (event.textChanged) {
+            call = CodeBlock.builder().addStatement("activity." + event.name + "((($T) view).getText())", TEXT_VIEW).build();
+        } else {
+            call = CodeBlock.builder().addStatement("activity." + event.name + "((" + event.parameterType + ")view)").build();
+        }
+        TypeSpec coalescer = TypeSpec.anonymousClassBuilder("views[$L], $LL, $LL",
+                eagerIds.indexOf(event.id), event.debounceMillis, event.throttleMillis)
+                .superclass(EVENT_COALESCER.nestedClass(event.textChanged ? "TextChanged" : "Scroll"))
+                .addMethod(MethodSpec.methodBuilder("onCoalescedEvent")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PROTECTED)
+                        .addParameter(VIEW, "view")
+                        .addCode(traced(className + "." + event.name, call))
+                        .build())
+                .build();
+        return CodeBlock.of("$L", coalescer);
+    }
+
+    /**
+     * 读取@BindExtra：直接调用Intent的getXxxExtra/hasExtra，读取Intent自身的extras，
+     * 不使用getExtras()（每次调用都复制一个Bundle）。基本类型以原值作为默认值（不装箱），其他类型只在key存在时赋值；
+     * lazy的只取出byte[]，首次LazyExtra.get()时才反序列化
+     */
+    private CodeBlock createExtrasCode() {
+        CodeBlock.Builder code = CodeBlock.builder();
+        boolean hasOwnExtras = false;
+        for (AnnotatedExtra extra : extras) {
+            if (extra.inherited) {
+                continue;
+            }
+            if (!hasOwnExtras) {
+                code.addStatement("$T intent = activity.getIntent()", INTENT);
+                hasOwnExtras = true;
+            }
+            String field = "activity." + extra.name;
+            if (extra.lazy) {
+                code.addStatement(field + " = new $T<$T>(intent.getByteArrayExtra($S), $T.class.getClassLoader())",
+                        LAZY_EXTRA, extra.type, extra.key, targetName);
+            } else if (extra.primitive) {
+                code.addStatement(field + " = intent.get$LExtra($S, " + field + ")", extra.bundleType, extra.key);
+            } else {
+                code.beginControlFlow("if (intent.hasExtra($S))", extra.key);
+                if (extra.bundleType.equals("Serializable")) {
+                    code.addStatement(field + " = ($T) intent.getSerializableExtra($S)", extra.type, extra.key);
+                } else {
+                    code.addStatement(field + " = intent.get$LExtra($S)", extra.bundleType, extra.key);
+                }
+                code.endControlFlow();
+            }
+        }
+        return code.build();
+    }
+
+    /**
+     * @BindState：静态的saveState/restoreState/estimateStateSize（先调用父类的）及StateBinder接口实现，
+     * 可在onSaveInstanceState/onCreate中直接调用静态方法。
+     * 按类型直接调用Bundle的putXxx/getXxx，基本类型以原值作为默认值，其他类型只在key存在时赋值
+     */
+    private void addStateMethods(TypeSpec.Builder binderClass) {
+        CodeBlock.Builder saveCode = CodeBlock.builder();
+        //首次创建时savedInstanceState为null
+        CodeBlock.Builder restoreCode = CodeBlock.builder()
+                .beginControlFlow("if (state == null)")
+                .addStatement("return")
+                .endControlFlow();
+        CodeBlock.Builder sizeCode = CodeBlock.builder().add("return ");
+        if (parentStateBinder != null) {
+            saveCode.addStatement("$T.saveState(activity, state)", parentStateBinder);
+            restoreCode.addStatement("$T.restoreState(activity, state)", parentStateBinder);
+            sizeCode.add("$T.estimateStateSize(activity) + ", parentStateBinder);
+        }
+        int fixedSize = 0;
+        CodeBlock.Builder variableSize = CodeBlock.builder();
+        boolean unchecked = false;
+        for (AnnotatedState state : states) {
+            String field = "activity." + state.name;
+            saveCode.addStatement("state.put$L($S, " + field + ")", state.bundleType, state.key);
+            if (state.primitive) {
+                restoreCode.addStatement(field + " = state.get$L($S, " + field + ")", state.bundleType, state.key);
+            } else {
+                restoreCode.beginControlFlow("if (state.containsKey($S))", state.key);
+                if (state.bundleType.equals("Serializable")) {
+                    restoreCode.addStatement(field + " = ($T) state.getSerializable($S)", state.type, state.key);
+                    unchecked |= state.type instanceof ParameterizedTypeName;
+                } else {
+                    restoreCode.addStatement(field + " = state.get$L($S)", state.bundleType, state.key);
+                }
+                restoreCode.endControlFlow();
+                variableSize.add("\n+ $T.of$L(" + field + ")", STATE_SIZE, state.bundleType);
+            }
+            fixedSize += state.fixedSize;
+        }
+        sizeCode.add("$L", fixedSize).indent().indent().add(variableSize.build()).unindent().unindent().add(";\n");
+
+        MethodSpec.Builder restoreMethod = MethodSpec.methodBuilder("restoreState")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(targetName, "activity")
+                .addParameter(BUNDLE, "state")
+                .addCode(restoreCode.build());
+        if (unchecked) {
+            restoreMethod.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+        binderClass.addSuperinterface(ParameterizedTypeName.get(STATE_BINDER, targetName))
+                .addMethod(MethodSpec.methodBuilder("saveState")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(targetName, "activity")
+                        .addParameter(BUNDLE, "state")
+                        .addCode(saveCode.build())
+                        .build())
+                .addMethod(restoreMethod.build())
+                .addMethod(MethodSpec.methodBuilder("estimateStateSize")
+                        .addJavadoc("key、类型标记及基本类型共$L字节，引用类型按取值计算\n", fixedSize)
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(int.class)
+                        .addParameter(targetName, "activity")
+                        .addCode(sizeCode.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("save")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(targetName, "target")
+                        .addParameter(BUNDLE, "state")
+                        .addStatement("saveState(target, state)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("restore")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(targetName, "target")
+                        .addParameter(BUNDLE, "state")
+                        .addStatement("restoreState(target, state)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("estimateSize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(int.class)
+                        .addParameter(targetName, "target")
+                        .addStatement("return estimateStateSize(target)")
+                        .build());
+    }
+
+    /**
+     * 生成xxActivity_IntentBuilder：每个@BindExtra（含父类的）一个同名方法，以相同的key及类型写入extras
+     */
+    JavaFile createIntentBuilderClassFile() {
+        ClassName builderName = getIntentBuilderClassName();
+        TypeSpec.Builder builderClass = TypeSpec.classBuilder(builderName)
+                .addJavadoc("创建启动{@link $T}的Intent，extras的key及类型与其@BindExtra成员变量一致\n", targetName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addField(CONTEXT, "context", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(FieldSpec.builder(BUNDLE, "extras", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T($L)", BUNDLE, extras.size())
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(CONTEXT, "context")
+                        .addStatement("this.context = context")
+                        .build());
+        for (AnnotatedExtra extra : extras) {
+            MethodSpec.Builder method = MethodSpec.methodBuilder(extra.builderMethod)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(builderName)
+                    .addParameter(extra.type, extra.builderMethod);
+            if (extra.lazy) {
+                method.addStatement("extras.putByteArray($S, $T.marshall($N))", extra.key, LAZY_EXTRA, extra.builderMethod);
+            } else {
+                method.addStatement("extras.put$L($S, $N)", extra.bundleType, extra.key, extra.builderMethod);
+            }
+            builderClass.addMethod(method.addStatement("return this").build());
+        }
+        builderClass.addMethod(MethodSpec.methodBuilder(BUILDER_BUILD)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(INTENT)
+                .addStatement("return new $T(context, $T.class).putExtras(extras)", INTENT, targetName)
+                .build());
+        builderClass.addMethod(MethodSpec.methodBuilder(BUILDER_START)
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("context.startActivity($N())", BUILDER_BUILD)
+                .build());
+        return JavaFile.builder(classPackage, builderClass.build())
+                .addFileComment("auto generate IntentBuilder class response to : $S ", getActivityName())
+                .build();
+    }
+
+    /**
+     * 供InjectMetrics统计的常量VIEW_COUNT、LISTENER_COUNT：本类及父类立即查找的View个数、设置的Listener个数（点击及事件），
+     * 由BindInjector在设置了统计回调时读取
+     */
+    private void addCountFields(TypeSpec.Builder binderClass, int viewCount, int listenerCount) {
+        binderClass.addField(createCountField("VIEW_COUNT", viewCount))
+                .addField(createCountField("LISTENER_COUNT", listenerCount));
+    }
+
+    private FieldSpec createCountField(String name, int count) {
+        CodeBlock initializer = parentBinder != null
+                ? CodeBlock.of("$L + $T.$N", count, parentBinder, name) : CodeBlock.of("$L", count);
+        return FieldSpec.builder(int.class, name, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer(initializer)
+                .build();
+    }
+
+    private int countClickBindings() {
+        int count = 0;
+        for (IdAnnotatedInfo annotatedInfo : viewIdMap.values()) {
+            if (annotatedInfo.method != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * IDS：需要一次遍历查找的id，升序排列
+     */
+    private static FieldSpec createIdsField(List<Integer> ids) {
+        CodeBlock.Builder idsBuilder = CodeBlock.builder().add("{");
+        for (int i = 0; i < ids.size(); i++) {
+            idsBuilder.add(i == 0 ? "$L" : ", $L", ids.get(i));
+        }
+        return FieldSpec.builder(int[].class, "IDS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(idsBuilder.add("}").build())
+                .build();
+    }
+
+    /**
+     * 为@BindViews成员变量赋值：按声明的id顺序从views中取出View组成数组（List时再包装为Arrays.asList）
+     *
+     * @param foundIds views中各下标对应的id
+     */
+    private static CodeBlock createGroupStatement(String target, AnnotatedGroup group, List<Integer> foundIds) {
+        boolean cast = !VIEW.toString().equals(group.elementType);
+        CodeBlock.Builder array = CodeBlock.builder().add("new " + group.elementType + "[] {");
+        for (int i = 0; i < group.ids.length; i++) {
+            array.add(i == 0 ? "" : ", ");
+            array.add((cast ? "(" + group.elementType + ")" : "") + "views[$L]", foundIds.indexOf(group.ids[i]));
+        }
+        array.add("}");
+        if (group.list) {
+            return CodeBlock.builder()
+                    .addStatement(target + "." + group.name + " = $T.asList($L)", Arrays.class, array.build())
+                    .build();
+        }
+        return CodeBlock.builder().addStatement(target + "." + group.name + " = $L", array.build()).build();
+    }
+
+    /**
+     * PATHS[i]为IDS[i]对应View从android.R.id.content开始的子View下标路径
+     */
+    private FieldSpec createPathsField(List<Integer> eagerIds) {
+        CodeBlock.Builder paths = CodeBlock.builder().add("{");
+        for (int i = 0; i < eagerIds.size(); i++) {
+            int[] path = viewPaths.get(eagerIds.get(i));
+            paths.add(i == 0 ? "{" : ", {");
+            for (int j = 0; j < path.length; j++) {
+                paths.add(j == 0 ? "$L" : ", $L", path[j]);
+            }
+            paths.add("}");
+        }
+        return FieldSpec.builder(int[][].class, "PATHS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(paths.add("}").build())
+                .build();
+    }
+
+    /**
+     * trace为true时将code包在BindTrace.begin/end区段中（try/finally），否则原样返回
+     */
+    private CodeBlock traced(String sectionName, CodeBlock code) {
+        if (!trace) {
+            return code;
+        }
+        return CodeBlock.builder()
+                .addStatement("$T.begin($S)", BIND_TRACE, sectionName)
+                .beginControlFlow("try")
+                .add(code)
+                .nextControlFlow("finally")
+                .addStatement("$T.end()", BIND_TRACE)
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * 是否有泛型的Serializable extra（如ArrayList<String>），读取时的强制转换为unchecked
+     */
+    private boolean hasUncheckedExtras() {
+        for (AnnotatedExtra extra : extras) {
+            if (!extra.inherited && extra.type instanceof ParameterizedTypeName) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasLazyBindings() {
+        for (IdAnnotatedInfo info : viewIdMap.values()) {
+            if (info.field != null && info.field.lazy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasClickBindings() {
+        for (IdAnnotatedInfo info : viewIdMap.values()) {
+            if (info.method != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 生成的内部类：实现OnClickListener并按View的id分发到对应的@BindClick方法。
+     * Activity的ClickDispatcher持有Activity，有异步点击方法时持有各自的AsyncClick，并生成cancel方法供解除绑定时调用；
+     * ViewBinder的ClickDispatcher（taggedTarget）无状态，从被点击的View的tag中取出绑定对象
+     */
+    private static TypeSpec createClickDispatcherClass(ClassName targetActivityName, CodeBlock clickCases,
+                                                       List<FieldSpec> asyncTasks, boolean taggedTarget) {
+        MethodSpec.Builder onClickMethod = MethodSpec.methodBuilder("onClick")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(VIEW, "view");
+        if (taggedTarget) {
+            onClickMethod.addStatement("$T target = $T.get(view)", targetActivityName, BIND_TARGET);
+        }
+        onClickMethod.beginControlFlow("switch (view.getId())")
+                .addCode(clickCases)
+                .endControlFlow();
+        TypeSpec.Builder dispatcher = TypeSpec.classBuilder(CLICK_DISPATCHER)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(ON_CLICK_LISTENER);
+        if (!taggedTarget) {
+            dispatcher.addField(targetActivityName, "target", Modifier.PRIVATE, Modifier.FINAL)
+                    .addFields(asyncTasks)
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addParameter(targetActivityName, "target")
+                            .addStatement("this.target = target")
+                            .build());
+        }
+        dispatcher.addMethod(onClickMethod.build());
+        if (!asyncTasks.isEmpty()) {
+            MethodSpec.Builder cancelMethod = MethodSpec.methodBuilder("cancel");
+            for (FieldSpec task : asyncTasks) {
+                cancelMethod.addStatement("$N.cancel()", task);
+            }
+            dispatcher.addMethod(cancelMethod.build());
+        }
+        return dispatcher.build();
+    }
+
+    /**
+     * 生成的内部类：inject返回的Unbinder，持有Activity及查找到的View，unbind时执行unbindCode并释放引用
+     *
+     * @param holdParent     是否持有父类inject返回的Unbinder（有父类Binder时）
+     * @param dispatcherName 有异步点击方法时为ClickDispatcher类名，Unbinder持有它以便取消进行中的调用，否则为null
+     * @param holdEvents     是否持有EventCoalescer数组，以便停止监听文本变化、滚动事件
+     */
+    private static TypeSpec createInjectUnbinderClass(ClassName targetActivityName, CodeBlock unbindCode,
+                                                      boolean holdParent, ClassName dispatcherName,
+                                                      boolean holdEvents) {
+        MethodSpec unbindMethod = MethodSpec.methodBuilder("unbind")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("$T activity = this.activity", targetActivityName)
+                .beginControlFlow("if (activity == null)")
+                .addStatement("throw new $T($S)", IllegalStateException.class, "Bindings already cleared.")
+                .endControlFlow()
+                .addStatement("this.activity = null")
+                .addCode(unbindCode)
+                .addStatement("views = null")
+                .build();
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addParameter(targetActivityName, "activity")
+                .addParameter(ArrayTypeName.of(VIEW), "views")
+                .addStatement("this.activity = activity")
+                .addStatement("this.views = views");
+        TypeSpec.Builder unbinder = TypeSpec.classBuilder(INJECT_UNBINDER)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(UNBINDER)
+                .addField(targetActivityName, "activity", Modifier.PRIVATE)
+                .addField(ArrayTypeName.of(VIEW), "views", Modifier.PRIVATE);
+        if (holdParent) {
+            unbinder.addField(UNBINDER, "parentUnbinder", Modifier.PRIVATE, Modifier.FINAL);
+            constructor.addParameter(UNBINDER, "parentUnbinder")
+                    .addStatement("this.parentUnbinder = parentUnbinder");
+        }
+        if (dispatcherName != null) {
+            unbinder.addField(dispatcherName, "clickDispatcher", Modifier.PRIVATE);
+            constructor.addParameter(dispatcherName, "clickDispatcher")
+                    .addStatement("this.clickDispatcher = clickDispatcher");
+        }
+        if (holdEvents) {
+            unbinder.addField(ArrayTypeName.of(EVENT_COALESCER), "events", Modifier.PRIVATE);
+            constructor.addParameter(ArrayTypeName.of(EVENT_COALESCER), "events")
+                    .addStatement("this.events = events");
+        }
+        return unbinder.addMethod(constructor.build())
+                .addMethod(unbindMethod)
+                .build();
+    }
+
     /**
      * 一个R.id.xxx（View）相关的注解信息,一个id只能被注解到一个变量和一个方法中
      */
@@ -109,10 +963,19 @@ class ActivityAnnotatedInfo {
         final int id;
         AnnotatedField field;
         AnnotatedMethod method;
+        boolean grouped;//是否被@BindViews引用
+        boolean evented;//是否有@BindTextChanged、@BindScroll方法
 
         IdAnnotatedInfo(int id) {
             this.id = id;
         }
+
+        /**
+         * 是否需要在inject时立即查找View
+         */
+        boolean isEager() {
+            return method != null || grouped || evented || (field != null && !field.lazy);
+        }
     }
 
     /**
@@ -126,13 +989,155 @@ class ActivityAnnotatedInfo {
         final String name;
 
         /**
-         * View类型，如 TextView
+         * View类型，如 TextView；lazy时为LazyView类型，如 LazyView<TextView>
          */
         final String type;//变量
 
-        AnnotatedField(String name, String type) {
+        /**
+         * 是否在首次访问时才查找View
+         */
+        final boolean lazy;
+
+        /**
+         * lazy时找到的是ViewStub是否将其inflate（LazyView<ViewStub>时为false）
+         */
+        final boolean inflateStub;
+
+        AnnotatedField(String name, String type, boolean lazy, boolean inflateStub) {
+            this.name = name;
+            this.type = type;
+            this.lazy = lazy;
+            this.inflateStub = inflateStub;
+        }
+    }
+
+    /**
+     * 被@BindViews注解的View数组或List成员变量信息
+     */
+    private static class AnnotatedGroup {
+        final String name;
+
+        /**
+         * 元素类型，数组为元素类型，List为类型参数，如 android.widget.EditText
+         */
+        final String elementType;
+
+        /**
+         * 按声明顺序的id，可重复
+         */
+        final int[] ids;
+
+        /**
+         * 成员变量是否为List（否则为数组）
+         */
+        final boolean list;
+
+        AnnotatedGroup(String name, String elementType, int[] ids, boolean list) {
+            this.name = name;
+            this.elementType = elementType;
+            this.ids = ids;
+            this.list = list;
+        }
+    }
+
+    /**
+     * 被@BindTextChanged、@BindScroll注解的方法信息
+     */
+    private static class AnnotatedEvent {
+        final int id;
+        final String name;
+
+        /**
+         * 参数类型，无参数时为null
+         */
+        final String parameterType;
+
+        /**
+         * 为true时监听文本变化，否则监听滚动
+         */
+        final boolean textChanged;
+        final long debounceMillis;
+        final long throttleMillis;
+
+        AnnotatedEvent(int id, String name, String parameterType, boolean textChanged,
+                       long debounceMillis, long throttleMillis) {
+            this.id = id;
+            this.name = name;
+            this.parameterType = parameterType;
+            this.textChanged = textChanged;
+            this.debounceMillis = debounceMillis;
+            this.throttleMillis = throttleMillis;
+        }
+    }
+
+    /**
+     * 被@BindExtra注解的成员变量信息
+     */
+    private static class AnnotatedExtra {
+        final String key;
+        final String name;
+
+        /**
+         * IntentBuilder中的方法名（同时作为参数名）
+         */
+        final String builderMethod;
+
+        /**
+         * 成员变量类型，lazy时为LazyExtra的类型参数
+         */
+        final TypeName type;
+
+        /**
+         * Bundle读写方法的后缀，如 Int、String、Parcelable
+         */
+        final String bundleType;
+        final boolean primitive;
+        final boolean lazy;
+
+        /**
+         * 是否为父类的成员变量（只用于IntentBuilder）
+         */
+        final boolean inherited;
+
+        AnnotatedExtra(String key, String name, String builderMethod, TypeName type, String bundleType,
+                       boolean primitive, boolean lazy, boolean inherited) {
+            this.key = key;
+            this.name = name;
+            this.builderMethod = builderMethod;
+            this.type = type;
+            this.bundleType = bundleType;
+            this.primitive = primitive;
+            this.lazy = lazy;
+            this.inherited = inherited;
+        }
+    }
+
+    /**
+     * 被@BindState注解的成员变量信息
+     */
+    private static class AnnotatedState {
+        final String key;
+        final String name;
+        final TypeName type;
+
+        /**
+         * Bundle读写方法的后缀，如 Int、String、Parcelable
+         */
+        final String bundleType;
+        final boolean primitive;
+
+        /**
+         * key、类型标记及基本类型取值在Parcel中的字节数
+         */
+        final int fixedSize;
+
+        AnnotatedState(String key, String name, TypeName type, String bundleType, boolean primitive, int fixedSize) {
+            this.key = key;
             this.name = name;
             this.type = type;
+            this.bundleType = bundleType;
+            this.primitive = primitive;
+            this.fixedSize = fixedSize;
         }
     }
 
@@ -150,9 +1155,34 @@ class ActivityAnnotatedInfo {
          */
         final String parameterType;
 
-        AnnotatedMethod(String name, String parameterType) {
+        /**
+         * 是否在后台线程执行（@BindClick(async = true)）
+         */
+        final boolean async;
+
+        /**
+         * async时方法返回值装箱后的类型，void时为java.lang.Void
+         */
+        final TypeName resultType;
+
+        /**
+         * async时在主线程接收结果的方法名，没有时为null
+         */
+        final String resultMethod;
+
+        /**
+         * resultMethod是否有一个接收返回值的参数
+         */
+        final boolean resultTakesValue;
+
+        AnnotatedMethod(String name, String parameterType, boolean async, TypeName resultType,
+                        String resultMethod, boolean resultTakesValue) {
             this.name = name;
             this.parameterType = parameterType;
+            this.async = async;
+            this.resultType = resultType;
+            this.resultMethod = resultMethod;
+            this.resultTakesValue = resultTakesValue;
         }
     }
 }
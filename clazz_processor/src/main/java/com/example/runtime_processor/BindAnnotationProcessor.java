@@ -1,16 +1,36 @@
 package com.example.runtime_processor;
 
 import com.example.runtime_annotation.BindClick;
+import com.example.runtime_annotation.BindExtra;
+import com.example.runtime_annotation.BindLayout;
+import com.example.runtime_annotation.BindScroll;
+import com.example.runtime_annotation.BindState;
+import com.example.runtime_annotation.BindTextChanged;
 import com.example.runtime_annotation.BindView;
+import com.example.runtime_annotation.BindViews;
 import com.google.auto.service.AutoService;
-import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
@@ -18,20 +38,29 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
 
 import static javax.lang.model.element.ElementKind.CLASS;
+import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.STATIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.WARNING;
 
 /**
  * 注解处理器所在Module需为java library
@@ -46,6 +75,11 @@ import static javax.tools.Diagnostic.Kind.ERROR;
  * Element#getEnclosingElement 获取该元素最里面的元素，不严格地说，闭包的元素；如元素（Element） TextView text，EnclosingElement为最外层的Activity;
  * TypeElement:表示类或接口程序元素.提供关于类型及其成员的信息的访问.注意，enum 是类类型，annotation 是接口类型。
  *
+ * 每个xx_InjectUtil只由一个被注解类（及其父类）决定，并以该类作为originating element写入，
+ * 因此在META-INF/gradle/incremental.annotation.processors中注册为isolating增量处理器；
+ * 汇总所有被注解类的BinderRegistry由单独的aggregating处理器BinderRegistryProcessor生成。
+ * 例外是@BindLayout读取的布局文件（bind.resDir）及R类，增量编译不会跟踪，
+ * 使用该参数的模块须将res目录声明为编译任务的输入（见app/build.gradle），res变化时全量重新编译。
  */
 @AutoService(Processor.class)
 public class BindAnnotationProcessor extends AbstractProcessor{
@@ -73,7 +107,88 @@ public class BindAnnotationProcessor extends AbstractProcessor{
      * and pseudo-types corresponding to packages and to the keyword void.
      */
     private TypeMirror viewType;
+    private TypeMirror viewStubType;
     private TypeMirror activityType;
+    private TypeMirror textViewType;
+    private TypeMirror charSequenceType;
+    private TypeMirror stringType;
+    private TypeMirror bundleType;
+    private TypeMirror parcelableType;
+    private TypeMirror serializableType;
+    /**
+     * clazz库中的LazyView（擦除泛型后），用于@BindView(lazy = true)
+     */
+    private TypeMirror lazyViewErasure;
+    /**
+     * clazz库中的LazyExtra（擦除泛型后），用于@BindExtra(lazy = true)
+     */
+    private TypeMirror lazyExtraErasure;
+    /**
+     * java.util.List（擦除泛型后），用于@BindViews
+     */
+    private TypeMirror listErasure;
+
+    /**
+     * 处理器参数：为true时生成的inject及点击处理方法包在BindTrace区段中，便于在systrace中按Activity查看绑定耗时
+     */
+    static final String OPTION_TRACE = "bind.trace";
+    private boolean trace;
+    /**
+     * 处理器参数：模块的res目录（多个时以File.pathSeparator分隔），用于@BindLayout读取布局文件，未指定时忽略@BindLayout。
+     * 这些目录须同时声明为编译任务的输入，否则只修改布局时不会重新检查
+     */
+    static final String OPTION_RES_DIR = "bind.resDir";
+    private final List<File> resDirs = new ArrayList<>();
+    /**
+     * 处理器参数：@BindState未指定key时的默认key，qualified（默认，类的binary name.成员变量名）、
+     * field（成员变量名）或compact（#加36进制下标，下标按父类到子类、声明顺序编号）
+     */
+    static final String OPTION_STATE_KEYS = "bind.stateKeys";
+    static final String STATE_KEYS_QUALIFIED = "qualified";
+    static final String STATE_KEYS_FIELD = "field";
+    static final String STATE_KEYS_COMPACT = "compact";
+    private String stateKeys = STATE_KEYS_QUALIFIED;
+    /**
+     * Bundle.putChar的取值在部分系统版本上由Parcel.writeValue以Serializable写入：
+     * 类名"java.lang.Character"（writeString，44字节）+ byte[]（4字节长度 + 50字节的对象流，对齐为52字节）
+     */
+    static final int CHAR_SERIALIZABLE_SIZE = 44 + 4 + 52;
+    /**
+     * R类全名 -> (R.layout或R.id的值 -> 名称)，以及已解析的布局，所有轮次共用
+     */
+    private final Map<String, Map<Integer, String>> resourceNames = new HashMap<>();
+    private final Map<String, LayoutInfo> layouts = new HashMap<>();
+
+    /**
+     * 所有轮次中已生成Binder的被注解类全名，同一个类不会重复生成
+     */
+    private final Set<String> generatedTargets = new HashSet<>();
+    /**
+     * 本轮自身没有@BindExtra、只继承了父类@BindExtra的非抽象Activity，只生成IntentBuilder，每轮清空
+     */
+    private final Map<TypeElement, ActivityAnnotatedInfo> intentBuilderTargets = new LinkedHashMap<>();
+    /**
+     * 本轮已验证过的注解元素所在类（同一个类的多个注解成员只验证一次）及是否有注解成员的父类，每轮清空
+     */
+    private final Map<TypeElement, Boolean> checkedTypes = new HashMap<>();
+    private final Map<TypeElement, Boolean> boundTypes = new HashMap<>();
+    /**
+     * 类自身（不含父类）是否有运行时反射绑定的注解，见hasReflectiveBindings，每轮清空
+     */
+    private final Map<TypeElement, Boolean> reflectiveTypes = new HashMap<>();
+    /**
+     * runtime模块中由ViewInjector反射处理的注解
+     */
+    private static final Set<String> REFLECTIVE_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "com.example.retentionpolicy.runtime.FindViewById",
+            "com.example.retentionpolicy.runtime.FindViewsById",
+            "com.example.retentionpolicy.runtime.SetOnClickById",
+            "com.example.retentionpolicy.runtime.SetOnTextChangedById",
+            "com.example.retentionpolicy.runtime.SetOnScrollById"));
+    /**
+     * 一轮中被注解类达到该数量时，多线程构建JavaPoet模型及生成源码，Filer写文件仍在处理器线程串行进行
+     */
+    private static final int PARALLEL_THRESHOLD = 32;
 
     /**
      * 每一个注解处理器类都必须有一个空的构造函数。
@@ -88,7 +203,39 @@ public class BindAnnotationProcessor extends AbstractProcessor{
         filer = processingEnvironment.getFiler();
 
         viewType = elementUtils.getTypeElement("android.view.View").asType();
+        viewStubType = elementUtils.getTypeElement("android.view.ViewStub").asType();
         activityType = elementUtils.getTypeElement("android.app.Activity").asType();
+        textViewType = elementUtils.getTypeElement("android.widget.TextView").asType();
+        charSequenceType = elementUtils.getTypeElement("java.lang.CharSequence").asType();
+        stringType = elementUtils.getTypeElement("java.lang.String").asType();
+        bundleType = elementUtils.getTypeElement("android.os.Bundle").asType();
+        parcelableType = elementUtils.getTypeElement("android.os.Parcelable").asType();
+        serializableType = elementUtils.getTypeElement("java.io.Serializable").asType();
+        TypeElement lazyViewElement = elementUtils.getTypeElement("com.example.retentionpolicy.clazz.LazyView");
+        lazyViewErasure = lazyViewElement != null ? typeUtils.erasure(lazyViewElement.asType()) : null;
+        TypeElement lazyExtraElement = elementUtils.getTypeElement("com.example.retentionpolicy.clazz.LazyExtra");
+        lazyExtraErasure = lazyExtraElement != null ? typeUtils.erasure(lazyExtraElement.asType()) : null;
+        listErasure = typeUtils.erasure(elementUtils.getTypeElement("java.util.List").asType());
+        trace = Boolean.parseBoolean(processingEnvironment.getOptions().get(OPTION_TRACE));
+        String stateKeysOption = processingEnvironment.getOptions().get(OPTION_STATE_KEYS);
+        if (stateKeysOption != null) {
+            if (stateKeysOption.equals(STATE_KEYS_QUALIFIED) || stateKeysOption.equals(STATE_KEYS_FIELD)
+                    || stateKeysOption.equals(STATE_KEYS_COMPACT)) {
+                stateKeys = stateKeysOption;
+            } else {
+                processingEnvironment.getMessager().printMessage(ERROR, String.format(
+                        "Processor option %s must be %s, %s or %s, found \"%s\".", OPTION_STATE_KEYS,
+                        STATE_KEYS_QUALIFIED, STATE_KEYS_FIELD, STATE_KEYS_COMPACT, stateKeysOption));
+            }
+        }
+        String resDirOption = processingEnvironment.getOptions().get(OPTION_RES_DIR);
+        if (resDirOption != null) {
+            for (String path : resDirOption.split(File.pathSeparator)) {
+                if (!path.trim().isEmpty()) {
+                    resDirs.add(new File(path.trim()));
+                }
+            }
+        }
     }
 
     /**
@@ -99,33 +246,129 @@ public class BindAnnotationProcessor extends AbstractProcessor{
     @Override
     public boolean process(Set<? extends TypeElement> set, RoundEnvironment roundEnvironment) {
         Map<TypeElement, ActivityAnnotatedInfo> targetClassMap = findAndParseTargets(roundEnvironment);
+        generateBinders(targetClassMap);
+        // 不独占注解，BinderRegistryProcessor同样需要处理
+        return false;
+    }
 
+    /**
+     * 为本轮新的被注解类生成xx_InjectUtil：数量较多时并行生成源码，再依次通过Filer写入
+     */
+    private void generateBinders(Map<TypeElement, ActivityAnnotatedInfo> targetClassMap) {
+        List<TypeElement> typeElements = new ArrayList<>(targetClassMap.size());
+        List<ActivityAnnotatedInfo> classBindInfos = new ArrayList<>(targetClassMap.size());
         for (Map.Entry<TypeElement, ActivityAnnotatedInfo> entry : targetClassMap.entrySet()) {
-            TypeElement typeElement = entry.getKey();
-            ActivityAnnotatedInfo classBindInfo = entry.getValue();
+            if (generatedTargets.add(entry.getValue().getActivityName())) {
+                typeElements.add(entry.getKey());
+                classBindInfos.add(entry.getValue());
+            }
+        }
+        List<String> sources = renderBinders(classBindInfos);
 
+        for (int i = 0; i < typeElements.size(); i++) {
+            TypeElement typeElement = typeElements.get(i);
+            ActivityAnnotatedInfo classBindInfo = classBindInfos.get(i);
             // 生成java文件
             try {
-                JavaFile jfo = classBindInfo.createBinderClassFile();
-                jfo.writeTo(filer);
+                JavaFileObject sourceFile = filer.createSourceFile(classBindInfo.getBinderClassName().toString(), typeElement);
+                try (Writer writer = sourceFile.openWriter()) {
+                    writer.write(sources.get(i));
+                }
             } catch (IOException e) {
                 error(typeElement, "Unable to generate InjectUtil for type %s: %s", typeElement, e.getMessage());
             }
+            // 有@BindExtra的Activity同时生成IntentBuilder，抽象类不能被启动
+            if (classBindInfo.hasExtras() && !typeElement.getModifiers().contains(ABSTRACT)) {
+                writeIntentBuilder(typeElement, classBindInfo);
+            }
         }
+        for (Map.Entry<TypeElement, ActivityAnnotatedInfo> entry : intentBuilderTargets.entrySet()) {
+            if (generatedTargets.add(entry.getValue().getIntentBuilderClassName().toString())) {
+                writeIntentBuilder(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 
-        return true;
+    private void writeIntentBuilder(TypeElement typeElement, ActivityAnnotatedInfo classBindInfo) {
+        try {
+            JavaFileObject sourceFile = filer.createSourceFile(classBindInfo.getIntentBuilderClassName().toString(), typeElement);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(classBindInfo.createIntentBuilderClassFile().toString());
+            }
+        } catch (IOException e) {
+            error(typeElement, "Unable to generate IntentBuilder for type %s: %s", typeElement, e.getMessage());
+        }
+    }
+
+    /**
+     * 构建JavaPoet模型并生成源码。ActivityAnnotatedInfo只保存字符串及JavaPoet的ClassName、TypeName，不访问javax.lang.model，可在其他线程执行
+     */
+    private static List<String> renderBinders(List<ActivityAnnotatedInfo> classBindInfos) {
+        List<String> sources = new ArrayList<>(classBindInfos.size());
+        if (classBindInfos.size() < PARALLEL_THRESHOLD) {
+            for (ActivityAnnotatedInfo classBindInfo : classBindInfos) {
+                sources.add(classBindInfo.createBinderClassFile().toString());
+            }
+            return sources;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<String>> futures = new ArrayList<>(classBindInfos.size());
+            for (final ActivityAnnotatedInfo classBindInfo : classBindInfos) {
+                futures.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return classBindInfo.createBinderClassFile().toString();
+                    }
+                }));
+            }
+            for (Future<String> future : futures) {
+                sources.add(future.get());
+            }
+            return sources;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating InjectUtil sources", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     private Map<TypeElement, ActivityAnnotatedInfo> findAndParseTargets(RoundEnvironment env) {
         Map<TypeElement, ActivityAnnotatedInfo> targetClassMap = new LinkedHashMap<>();
         //存放类型擦除（泛型擦除：虚拟机中没有泛型，所有泛型类的类型参数在编译时都会被擦除）之后的类信息
-        //Set<TypeMirror> erasedTargetTypes = new LinkedHashSet<TypeMirror>();
+        Set<String> erasedTargetTypes = new LinkedHashSet<>();
+        //每轮的Element对象可能不同，缓存只在本轮有效
+        checkedTypes.clear();
+        boundTypes.clear();
+        reflectiveTypes.clear();
+        intentBuilderTargets.clear();
         for (Element element : env.getElementsAnnotatedWith(BindView.class)) {
             //获取BindView注解元素所在类（Activity）
             TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+            // 验证注解元素所在类类型为CLASS，而非INTERFACE、ENUM...，且不是private类
+            if (!isValidEnclosingType(element, enclosingElement, "@BindView field")) {
+                continue;
+            }
 
-            // 验证注解元素是否继承View
-            if (!typeUtils.isSubtype(element.asType(), viewType)) {
+            BindView bindView = element.getAnnotation(BindView.class);
+            // 验证注解元素是否继承View，lazy时验证是否为LazyView<T>（T继承View）
+            TypeMirror lazyViewType = bindView.lazy() ? getLazyViewType(element.asType()) : null;
+            if (bindView.lazy() && lazyViewType == null) {
+                error(element, "@BindView(lazy = true) fields must be LazyView<T> where T is View or a subclass, not a wildcard (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            if (!bindView.lazy() && !typeUtils.isSubtype(element.asType(), viewType)) {
                 error(element, "@BindView fields must extend from View (%s.%s).",
                         enclosingElement.getQualifiedName(), element);
                 continue;
@@ -139,40 +382,57 @@ public class BindAnnotationProcessor extends AbstractProcessor{
                 continue;
             }
 
-            // 验证注解元素所在类类型为CLASS，而非INTERFACE、ENUM...
-            if (enclosingElement.getKind() != CLASS) {
-                error(element, "@BindView field annotations may only be specified in classes (%s).",
-                        enclosingElement);
-                continue;
-            }
-            // 验证注解元素所在类是否继承Activity
-            if (!typeUtils.isSubtype(enclosingElement.asType(), activityType)) {
-                error(element, "@BindView field annotations may only be specified in classes (%s).",
-                        enclosingElement);
-                continue;
-            }
-            // 验证注解元素所在类访问修饰符
-            if (enclosingElement.getModifiers().contains(PRIVATE)) {
-                error(element, "@BindView fields may not be on private classes (%s).", enclosingElement);
-                continue;
-            }
-
             // 收集注解相关信息
             // 注解成员变量名称
             String name = element.getSimpleName().toString();
             //BindView注解值（id）
-            int id = element.getAnnotation(BindView.class).value();
+            int id = bindView.value();
             // 注解成员变量元素类型
             String type = element.asType().toString();
 
-            ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement);
-            activityInfo.addBindField(id, name, type);
+            ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement, erasedTargetTypes);
+            if (lazyViewType != null) {
+                //LazyView<ViewStub>需要ViewStub本身，其他类型找到ViewStub时将其inflate
+                boolean inflateStub = !typeUtils.isSameType(lazyViewType, viewStubType);
+                activityInfo.addLazyBindField(id, name, type, inflateStub);
+            } else {
+                activityInfo.addBindField(id, name, type);
+            }
+        }
 
-            // 记录有注解信息的类型擦除后的类信息
-            //TypeMirror erasedTargetType = typeUtils.erasure(enclosingElement.asType());
-            //erasedTargetTypes.add(erasedTargetType);
+        for (Element element : env.getElementsAnnotatedWith(BindViews.class)) {
+            TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+            if (!isValidEnclosingType(element, enclosingElement, "@BindViews field")) {
+                continue;
+            }
+
+            // 验证成员变量类型为View（或其子类）数组或List<View（或其子类）>
+            TypeMirror elementType = getBindViewsElementType(element.asType());
+            if (elementType == null) {
+                error(element, "@BindViews fields must be View (or subclass) arrays or List<? extends View> (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(PRIVATE) || modifiers.contains(STATIC)) {
+                error(element, "@BindViews fields must not be private or static (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+
+            int[] ids = element.getAnnotation(BindViews.class).value();
+            if (ids.length == 0) {
+                error(element, "@BindViews must specify at least one id (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+
+            ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement, erasedTargetTypes);
+            activityInfo.addBindViewsField(ids, element.getSimpleName().toString(),
+                    typeUtils.erasure(elementType).toString(), element.asType().getKind() != TypeKind.ARRAY);
         }
-        
+
         for (Element element : env.getElementsAnnotatedWith(BindClick.class)) {
             //验证BindClick是否注解在成员方法上
             if (!(element instanceof ExecutableElement)) {
@@ -182,6 +442,10 @@ public class BindAnnotationProcessor extends AbstractProcessor{
 
             ExecutableElement executableElement = (ExecutableElement) element;
             TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+            //验证注解的成员方法所在类
+            if (!isValidEnclosingType(element, enclosingElement, "@BindClick method")) {
+                continue;
+            }
 
             //验证注解的成员方法的访问修饰符
             Set<Modifier> modifiers = element.getModifiers();
@@ -191,27 +455,16 @@ public class BindAnnotationProcessor extends AbstractProcessor{
                 continue;
             }
 
-            //验证注解的成员方法所在类的访问修饰符
-            if (enclosingElement.getKind() != CLASS) {
-                error(element, "@BindClick method annotations may only be specified in classes (%s).",
-                        enclosingElement);
-                continue;
-            }
-            // 验证注解的方法所在类是否继承Activity
-            if (!typeUtils.isSubtype(enclosingElement.asType(), activityType)) {
-                error(element, "@BindView method annotations may only be specified in classes (%s).",
-                        enclosingElement);
-                continue;
-            }
-            // 验证注解的方法所在类访问修饰符
-            if (enclosingElement.getModifiers().contains(PRIVATE)) {
-                error(element, "@BindClick methods may not be on private classes (%s).", enclosingElement);
+            // 验证注解方法返回类型是否为VOID（异步方法可以有返回值，在主线程传给onResult方法）
+            BindClick bindClick = element.getAnnotation(BindClick.class);
+            TypeMirror returnType = executableElement.getReturnType();
+            if (!bindClick.async() && returnType.getKind() != TypeKind.VOID) {
+                error(element, "@BindClick methods must have a 'void' return type unless async = true (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
                 continue;
             }
-
-            // 验证注解方法返回类型是否为VOID
-            if (executableElement.getReturnType().getKind() != TypeKind.VOID) {
-                error(element, "@BindClick methods must have a 'void' return type (%s.%s).",
+            if (!bindClick.async() && !bindClick.onResult().isEmpty()) {
+                error(element, "@BindClick onResult requires async = true (%s.%s).",
                         enclosingElement.getQualifiedName(), element);
                 continue;
             }
@@ -239,31 +492,821 @@ public class BindAnnotationProcessor extends AbstractProcessor{
 
             // 收集注解相关信息
             String name = executableElement.getSimpleName().toString();
-            int id = element.getAnnotation(BindClick.class).value();
+            int id = bindClick.value();
 
-            ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement);
+            if (bindClick.async()) {
+                //ViewBinder没有解除绑定的时机，ViewHolder重新bind后进行中的调用仍会把结果交给已显示其他数据的holder
+                if (!typeUtils.isSubtype(enclosingElement.asType(), activityType)) {
+                    error(element, "@BindClick(async = true) methods are only supported in Activities (%s.%s).",
+                            enclosingElement.getQualifiedName(), element);
+                    continue;
+                }
+                ExecutableElement resultMethod = null;
+                if (!bindClick.onResult().isEmpty()) {
+                    resultMethod = findResultMethod(enclosingElement, bindClick.onResult(), returnType);
+                    if (resultMethod == null) {
+                        error(element, "@BindClick onResult method %s must be a non-static void method accessible from "
+                                        + "package %s (public, or non-private in that package) with no parameter "
+                                        + "or one parameter assignable from %s (%s.%s).",
+                                bindClick.onResult(), getPackageName(enclosingElement), returnType,
+                                enclosingElement.getQualifiedName(), element);
+                        continue;
+                    }
+                }
+                TypeName resultType = returnType.getKind() == TypeKind.VOID
+                        ? ClassName.get(Void.class) : TypeName.get(returnType).box();
+                ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement, erasedTargetTypes);
+                activityInfo.addAsyncBindMethod(id, name, type, resultType,
+                        resultMethod != null ? bindClick.onResult() : null,
+                        resultMethod != null && !resultMethod.getParameters().isEmpty());
+                continue;
+            }
+            ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement, erasedTargetTypes);
             activityInfo.addBindMethod(id,name,type);
-            // 记录有注解信息的类型擦除后的类信息
-            //TypeMirror erasedTargetType = typeUtils.erasure(enclosingElement.asType());
-            //erasedTargetTypes.add(erasedTargetType);
         }
 
-        //......
-        //！！！这里省略Activity类之间继承相关处理（用到erasedTargetTypes），因为一个Activity对应一个xxxActivity$$Binder.java文件，
-        // 如果A extends B,那么在A$$Binder.java类的inject()方法中要B.inject()先调用父类的inject()方法（$$Binder）
+        for (Element element : env.getElementsAnnotatedWith(BindTextChanged.class)) {
+            BindTextChanged annotation = element.getAnnotation(BindTextChanged.class);
+            parseEventMethod(element, "@BindTextChanged", true, annotation.value(), annotation.debounce(),
+                    annotation.throttle(), targetClassMap, erasedTargetTypes);
+        }
+        for (Element element : env.getElementsAnnotatedWith(BindScroll.class)) {
+            BindScroll annotation = element.getAnnotation(BindScroll.class);
+            parseEventMethod(element, "@BindScroll", false, annotation.value(), annotation.debounce(),
+                    annotation.throttle(), targetClassMap, erasedTargetTypes);
+        }
+
+        //@BindExtra按所在类分组，同一个类（含父类）的key及IntentBuilder方法名不能重复
+        Map<TypeElement, List<VariableElement>> extraFields = new LinkedHashMap<>();
+        for (Element element : env.getElementsAnnotatedWith(BindExtra.class)) {
+            TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+            if (!isValidEnclosingType(element, enclosingElement, "@BindExtra field")) {
+                continue;
+            }
+            if (!typeUtils.isSubtype(enclosingElement.asType(), activityType)) {
+                error(element, "@BindExtra fields are only supported in Activities (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(PRIVATE) || modifiers.contains(STATIC) || modifiers.contains(Modifier.FINAL)) {
+                error(element, "@BindExtra fields must not be private, static or final (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            BindExtra bindExtra = element.getAnnotation(BindExtra.class);
+            if (bindExtra.lazy() && getLazyExtraType(element.asType()) == null) {
+                error(element, "@BindExtra(lazy = true) fields must be LazyExtra<T> where T implements Parcelable, not a wildcard (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            if (!bindExtra.lazy() && getBundleType(element.asType()) == null) {
+                error(element, "@BindExtra field type %s is not supported by Bundle (%s.%s).",
+                        element.asType(), enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            List<VariableElement> fields = extraFields.get(enclosingElement);
+            if (fields == null) {
+                fields = new ArrayList<>();
+                extraFields.put(enclosingElement, fields);
+            }
+            fields.add((VariableElement) element);
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : extraFields.entrySet()) {
+            addExtras(entry.getKey(), entry.getValue(),
+                    getOrCreateActivityInfo(targetClassMap, entry.getKey(), erasedTargetTypes));
+        }
+        //自身没有@BindExtra的非抽象Activity（如只继承了BaseActivity的extras）同样需要IntentBuilder写入父类的extras：
+        //检查本轮所有类（含嵌套类），已是被注解类的加入其extras，否则只生成IntentBuilder
+        List<TypeElement> roundTypes = new ArrayList<>();
+        collectTypes(env.getRootElements(), roundTypes);
+        for (TypeElement typeElement : roundTypes) {
+            Set<Modifier> modifiers = typeElement.getModifiers();
+            if (extraFields.containsKey(typeElement) || typeElement.getKind() != CLASS
+                    || modifiers.contains(ABSTRACT) || modifiers.contains(PRIVATE)
+                    || !typeUtils.isSubtype(typeElement.asType(), activityType)) {
+                continue;
+            }
+            ActivityAnnotatedInfo activityInfo = targetClassMap.get(typeElement);
+            if (activityInfo == null) {
+                String classPackage = getPackageName(typeElement);
+                activityInfo = new ActivityAnnotatedInfo(classPackage, getClassName(typeElement, classPackage),
+                        ClassName.get(typeElement), true);
+                addExtras(typeElement, Collections.<VariableElement>emptyList(), activityInfo);
+                if (activityInfo.hasExtras()) {
+                    intentBuilderTargets.put(typeElement, activityInfo);
+                }
+            } else {
+                addExtras(typeElement, Collections.<VariableElement>emptyList(), activityInfo);
+            }
+        }
+
+        //@BindState按所在类分组，同一个类（含父类）的key不能重复
+        Map<TypeElement, List<VariableElement>> stateFields = new LinkedHashMap<>();
+        for (Element element : env.getElementsAnnotatedWith(BindState.class)) {
+            TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+            if (!isValidEnclosingType(element, enclosingElement, "@BindState field")) {
+                continue;
+            }
+            if (!typeUtils.isSubtype(enclosingElement.asType(), activityType)) {
+                error(element, "@BindState fields are only supported in Activities (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(PRIVATE) || modifiers.contains(STATIC) || modifiers.contains(Modifier.FINAL)) {
+                error(element, "@BindState fields must not be private, static or final (%s.%s).",
+                        enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            String bundleType = getBundleType(element.asType());
+            if (bundleType == null) {
+                error(element, "@BindState field type %s is not supported by Bundle (%s.%s).",
+                        element.asType(), enclosingElement.getQualifiedName(), element);
+                continue;
+            }
+            if (bundleType.equals("Serializable")) {
+                warning(element, "@BindState field type %s is saved as Serializable, which is slow and enlarges "
+                                + "the saved state; consider Parcelable (%s.%s).",
+                        element.asType(), enclosingElement.getQualifiedName(), element);
+            }
+            List<VariableElement> fields = stateFields.get(enclosingElement);
+            if (fields == null) {
+                fields = new ArrayList<>();
+                stateFields.put(enclosingElement, fields);
+            }
+            fields.add((VariableElement) element);
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : stateFields.entrySet()) {
+            addStates(entry.getKey(), entry.getValue(),
+                    getOrCreateActivityInfo(targetClassMap, entry.getKey(), erasedTargetTypes));
+        }
+
+        // Activity类之间继承相关处理：一个Activity对应一个xxxActivity_InjectUtil.java文件，
+        // 如果A extends B,那么在A_InjectUtil.java类的inject()方法中要先调用B_InjectUtil.inject()
+        for (Map.Entry<TypeElement, ActivityAnnotatedInfo> entry : targetClassMap.entrySet()) {
+            TypeElement parentType = findParentType(entry.getKey(), erasedTargetTypes);
+            if (parentType != null) {
+                String parentPackage = getPackageName(parentType);
+                String parentClassName = getClassName(parentType, parentPackage);
+                entry.getValue().setParentBinder(ClassName.get(parentPackage, parentClassName + ActivityAnnotatedInfo.SUFFIX));
+            }
+            if (entry.getValue().isActivityTarget()) {
+                entry.getValue().setMixed(hasReflectiveBindings(entry.getKey()));
+            }
+        }
+
+        // 根据@BindLayout声明的布局检查id及类型，并计算子View下标路径
+        for (Element element : env.getElementsAnnotatedWith(BindLayout.class)) {
+            ActivityAnnotatedInfo activityInfo = targetClassMap.get(element);
+            if (activityInfo == null || !activityInfo.isActivityTarget()) {
+                warning(element, "@BindLayout only applies to Activities with @BindView, @BindViews, @BindClick or event bindings (%s).",
+                        element);
+                continue;
+            }
+            applyLayout((TypeElement) element, activityInfo, element.getAnnotation(BindLayout.class).value());
+        }
 
         return targetClassMap;
     }
 
+    /**
+     * 验证并收集@BindTextChanged（textChanged为true）或@BindScroll方法：只支持Activity中非private、非static的void方法，
+     * 无参数或只有一个参数（文本变化可接收CharSequence，滚动为View或其子类），debounce与throttle最多设置一个
+     */
+    private void parseEventMethod(Element element, String annotation, boolean textChanged, int id,
+                                  long debounceMillis, long throttleMillis,
+                                  Map<TypeElement, ActivityAnnotatedInfo> targetClassMap, Set<String> erasedTargetTypes) {
+        if (!(element instanceof ExecutableElement)) {
+            error(element, "%s annotation must be on a method.", annotation);
+            return;
+        }
+        ExecutableElement executableElement = (ExecutableElement) element;
+        TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+        if (!isValidEnclosingType(element, enclosingElement, annotation + " method")) {
+            return;
+        }
+        if (!typeUtils.isSubtype(enclosingElement.asType(), activityType)) {
+            error(element, "%s methods are only supported in Activities (%s.%s).",
+                    annotation, enclosingElement.getQualifiedName(), element);
+            return;
+        }
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(PRIVATE) || modifiers.contains(STATIC)) {
+            error(element, "%s methods must not be private or static (%s.%s).",
+                    annotation, enclosingElement.getQualifiedName(), element);
+            return;
+        }
+        if (executableElement.getReturnType().getKind() != TypeKind.VOID) {
+            error(element, "%s methods must have a 'void' return type (%s.%s).",
+                    annotation, enclosingElement.getQualifiedName(), element);
+            return;
+        }
+        String type = null;
+        List<? extends VariableElement> parameters = executableElement.getParameters();
+        if (!parameters.isEmpty()) {
+            TypeMirror parameterType = parameters.get(0).asType();
+            boolean valid = parameters.size() == 1 && (textChanged
+                    ? typeUtils.isAssignable(charSequenceType, parameterType)
+                    : typeUtils.isSubtype(parameterType, viewType));
+            if (!valid) {
+                error(element, "%s methods may only have one parameter which is %s (%s.%s).", annotation,
+                        textChanged ? "CharSequence" : "View (or subclass)", enclosingElement.getQualifiedName(), element);
+                return;
+            }
+            type = parameterType.toString();
+        }
+        if (debounceMillis < 0 || throttleMillis < 0 || (debounceMillis > 0 && throttleMillis > 0)) {
+            error(element, "%s may set only one of debounce and throttle, and neither may be negative (%s.%s).",
+                    annotation, enclosingElement.getQualifiedName(), element);
+            return;
+        }
+        ActivityAnnotatedInfo activityInfo = getOrCreateActivityInfo(targetClassMap, enclosingElement, erasedTargetTypes);
+        activityInfo.addEventMethod(id, executableElement.getSimpleName().toString(), type, textChanged,
+                debounceMillis, throttleMillis);
+    }
+
+    /**
+     * 读取typeElement声明的布局：id不在布局中时警告，View类型与成员变量类型不兼容时报错；
+     * 所有立即查找的id都在布局中、且布局只有一种配置时，为activityInfo设置子View下标路径
+     */
+    private void applyLayout(TypeElement typeElement, ActivityAnnotatedInfo activityInfo, int layoutId) {
+        if (resDirs.isEmpty()) {
+            warning(typeElement, "@BindLayout is ignored because processor option %s is not set (%s).",
+                    OPTION_RES_DIR, typeElement);
+            return;
+        }
+        String rClass = findRClass(typeElement);
+        String layoutName = rClass != null ? getResourceNames(rClass, "layout").get(layoutId) : null;
+        if (layoutName == null) {
+            warning(typeElement, "Unable to resolve layout %s of %s to an R.layout constant.", layoutId, typeElement);
+            return;
+        }
+        LayoutInfo layout;
+        try {
+            layout = layouts.get(layoutName);
+            if (layout == null) {
+                layout = LayoutInfo.parse(resDirs, layoutName);
+                if (layout == null) {
+                    warning(typeElement, "Layout file %s.xml not found in %s (%s).", layoutName, resDirs, typeElement);
+                    return;
+                }
+                layouts.put(layoutName, layout);
+            }
+        } catch (Exception e) {
+            warning(typeElement, "Unable to parse layout %s: %s", layoutName, e.getMessage());
+            return;
+        }
+
+        Map<Integer, String> idNames = getResourceNames(rClass, "id");
+        Map<Integer, int[]> paths = new HashMap<>();
+        boolean complete = true;
+        for (Element member : typeElement.getEnclosedElements()) {
+            BindView bindView = member.getAnnotation(BindView.class);
+            BindViews bindViews = member.getAnnotation(BindViews.class);
+            BindClick bindClick = member.getAnnotation(BindClick.class);
+            BindTextChanged bindTextChanged = member.getAnnotation(BindTextChanged.class);
+            BindScroll bindScroll = member.getAnnotation(BindScroll.class);
+            int[] ids;
+            //需要与布局中View类型兼容的类型，@BindClick不检查
+            TypeMirror boundType = null;
+            if (bindView != null && !bindView.lazy()) {
+                ids = new int[]{bindView.value()};
+                boundType = member.asType();
+            } else if (bindViews != null) {
+                ids = bindViews.value();
+                boundType = getBindViewsElementType(member.asType());
+            } else if (bindClick != null) {
+                ids = new int[]{bindClick.value()};
+            } else if (bindTextChanged != null) {
+                ids = new int[]{bindTextChanged.value()};
+                boundType = textViewType;
+            } else if (bindScroll != null) {
+                ids = new int[]{bindScroll.value()};
+            } else {
+                continue;
+            }
+            for (int id : ids) {
+                String idName = idNames.get(id);
+                LayoutInfo.ViewInfo view = idName != null ? layout.getView(idName) : null;
+                if (view == null) {
+                    warning(member, "View %s is not in layout %s, it will be looked up by id (%s.%s).",
+                            idName != null ? "R.id." + idName : id, layoutName, typeElement.getQualifiedName(), member);
+                    complete = false;
+                    continue;
+                }
+                if (boundType != null && !isCompatible(boundType, view.tag)) {
+                    error(member, "Field type %s is incompatible with <%s> R.id.%s in layout %s (%s.%s).",
+                            boundType, view.tag, idName, layoutName, typeElement.getQualifiedName(), member);
+                    complete = false;
+                    continue;
+                }
+                paths.put(id, view.path);
+            }
+        }
+        if (complete && layout.isSingleConfiguration()) {
+            activityInfo.setViewPaths(paths);
+        }
+    }
+
+    /**
+     * 从typeElement所在包开始逐级向上查找R类（要求R.id、R.layout为常量，即application模块）
+     */
+    private String findRClass(TypeElement typeElement) {
+        String packageName = getPackageName(typeElement);
+        while (true) {
+            String rClass = packageName.isEmpty() ? "R" : packageName + ".R";
+            if (elementUtils.getTypeElement(rClass) != null) {
+                return rClass;
+            }
+            int dot = packageName.lastIndexOf('.');
+            if (packageName.isEmpty()) {
+                return null;
+            }
+            packageName = dot > 0 ? packageName.substring(0, dot) : "";
+        }
+    }
+
+    /**
+     * @return R类中type（如"id"、"layout"）的常量值 -> 名称
+     */
+    private Map<Integer, String> getResourceNames(String rClass, String type) {
+        String className = rClass + "." + type;
+        Map<Integer, String> names = resourceNames.get(className);
+        if (names == null) {
+            names = new HashMap<>();
+            TypeElement typeElement = elementUtils.getTypeElement(className);
+            if (typeElement != null) {
+                for (Element member : typeElement.getEnclosedElements()) {
+                    if (member instanceof VariableElement
+                            && ((VariableElement) member).getConstantValue() instanceof Integer) {
+                        names.put((Integer) ((VariableElement) member).getConstantValue(),
+                                member.getSimpleName().toString());
+                    }
+                }
+            }
+            resourceNames.put(className, names);
+        }
+        return names;
+    }
+
+    /**
+     * 成员变量类型与布局中的View类型是否兼容（互为父子类型，AppCompat等会在inflate时替换为子类）；
+     * 无法解析标签对应的类时不检查
+     */
+    private boolean isCompatible(TypeMirror fieldType, String tag) {
+        TypeElement viewElement = null;
+        if (tag.indexOf('.') >= 0) {
+            viewElement = elementUtils.getTypeElement(tag);
+        } else {
+            for (String prefix : new String[]{"android.widget.", "android.view.", "android.webkit."}) {
+                viewElement = elementUtils.getTypeElement(prefix + tag);
+                if (viewElement != null) {
+                    break;
+                }
+            }
+        }
+        if (viewElement == null) {
+            return true;
+        }
+        TypeMirror viewType = typeUtils.erasure(viewElement.asType());
+        TypeMirror erasedFieldType = typeUtils.erasure(fieldType);
+        return typeUtils.isAssignable(viewType, erasedFieldType) || typeUtils.isAssignable(erasedFieldType, viewType);
+    }
+
+    /**
+     * 验证注解元素所在类为CLASS且不是private类，每个类只验证一次，错误只在第一个注解元素上报告
+     *
+     * @param memberKind 用于错误信息，如"@BindView field"
+     */
+    private boolean isValidEnclosingType(Element element, TypeElement enclosingElement, String memberKind) {
+        Boolean valid = checkedTypes.get(enclosingElement);
+        if (valid != null) {
+            return valid;
+        }
+        valid = false;
+        if (enclosingElement.getKind() != CLASS) {
+            error(element, "%s annotations may only be specified in classes (%s).", memberKind, enclosingElement);
+        } else if (enclosingElement.getModifiers().contains(PRIVATE)) {
+            error(element, "%ss may not be on private classes (%s).", memberKind, enclosingElement);
+        } else {
+            valid = true;
+        }
+        checkedTypes.put(enclosingElement, valid);
+        return valid;
+    }
+
+    /**
+     * 查找异步点击方法的结果回调：typeElement（含父类）中名为name的非static的void方法，
+     * 且生成的InjectUtil（与typeElement同包）可以调用：public，或声明在同一个包中的非private方法。
+     * 优先选择有一个可接收returnType的参数的重载，其次是无参数的
+     */
+    private ExecutableElement findResultMethod(TypeElement typeElement, String name, TypeMirror returnType) {
+        String targetPackage = getPackageName(typeElement);
+        ExecutableElement noArgMethod = null;
+        for (Element member : elementUtils.getAllMembers(typeElement)) {
+            if (member.getKind() != ElementKind.METHOD || !member.getSimpleName().contentEquals(name)
+                    || member.getModifiers().contains(PRIVATE) || member.getModifiers().contains(STATIC)) {
+                continue;
+            }
+            if (!member.getModifiers().contains(Modifier.PUBLIC)
+                    && !getPackageName((TypeElement) member.getEnclosingElement()).equals(targetPackage)) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            if (method.getReturnType().getKind() != TypeKind.VOID) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameters.isEmpty()) {
+                noArgMethod = method;
+            } else if (parameters.size() == 1 && returnType.getKind() != TypeKind.VOID
+                    && typeUtils.isAssignable(returnType, parameters.get(0).asType())) {
+                return method;
+            }
+        }
+        return noArgMethod;
+    }
+
+    /**
+     * @return type为V[]或List<V>（含List<? extends V>）且V继承View时返回V，否则返回null
+     */
+    private TypeMirror getBindViewsElementType(TypeMirror type) {
+        TypeMirror elementType = null;
+        if (type.getKind() == TypeKind.ARRAY) {
+            elementType = ((ArrayType) type).getComponentType();
+        } else if (type.getKind() == TypeKind.DECLARED && typeUtils.isSameType(typeUtils.erasure(type), listErasure)) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+            if (typeArguments.size() == 1) {
+                elementType = typeArguments.get(0);
+                if (elementType.getKind() == TypeKind.WILDCARD) {
+                    elementType = ((WildcardType) elementType).getExtendsBound();
+                }
+            }
+        }
+        if (elementType == null || elementType.getKind() != TypeKind.DECLARED
+                || !typeUtils.isSubtype(elementType, viewType)) {
+            return null;
+        }
+        return elementType;
+    }
+
+    /**
+     * 为typeElement添加自身的@BindExtra成员变量（inject时读取），以及父类的@BindExtra成员变量（只用于生成IntentBuilder，
+     * 由父类的InjectUtil读取）。key或IntentBuilder方法名重复时报错
+     */
+    private void addExtras(TypeElement typeElement, List<VariableElement> fields, ActivityAnnotatedInfo activityInfo) {
+        Set<String> keys = new HashSet<>();
+        Set<String> builderMethods = new HashSet<>();
+        builderMethods.add(ActivityAnnotatedInfo.BUILDER_BUILD);
+        builderMethods.add(ActivityAnnotatedInfo.BUILDER_START);
+        for (VariableElement field : fields) {
+            addExtra(typeElement, field, false, keys, builderMethods, activityInfo);
+        }
+        TypeElement superType = typeElement;
+        while (true) {
+            TypeMirror superclass = superType.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) {
+                break;
+            }
+            superType = (TypeElement) typeUtils.asElement(superclass);
+            String superName = superType.getQualifiedName().toString();
+            if (superName.startsWith("android.") || superName.startsWith("java.")) {
+                break;
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(superType.getEnclosedElements())) {
+                //父类的成员变量已在其编译时验证，不支持的类型不会有InjectUtil读取，这里跳过
+                BindExtra bindExtra = field.getAnnotation(BindExtra.class);
+                if (bindExtra != null && (bindExtra.lazy() ? getLazyExtraType(field.asType()) != null
+                        : getBundleType(field.asType()) != null)) {
+                    addExtra(typeElement, field, true, keys, builderMethods, activityInfo);
+                }
+            }
+        }
+    }
+
+    private void addExtra(TypeElement typeElement, VariableElement field, boolean inherited, Set<String> keys,
+                          Set<String> builderMethods, ActivityAnnotatedInfo activityInfo) {
+        BindExtra bindExtra = field.getAnnotation(BindExtra.class);
+        String name = field.getSimpleName().toString();
+        String key = bindExtra.value().isEmpty() ? name : bindExtra.value();
+        String builderMethod = getBuilderMethodName(name);
+        if (!keys.add(key)) {
+            error(inherited ? typeElement : field, "@BindExtra key \"%s\" is used by more than one field (%s.%s).",
+                    key, typeElement.getQualifiedName(), field);
+            return;
+        }
+        if (!builderMethods.add(builderMethod)) {
+            error(inherited ? typeElement : field, "@BindExtra field %s conflicts with IntentBuilder method %s() (%s).",
+                    field, builderMethod, typeElement.getQualifiedName());
+            return;
+        }
+        if (bindExtra.lazy()) {
+            activityInfo.addLazyExtra(key, name, builderMethod,
+                    TypeName.get(getLazyExtraType(field.asType())), inherited);
+        } else {
+            TypeMirror type = field.asType();
+            activityInfo.addExtra(key, name, builderMethod, TypeName.get(type), getBundleType(type),
+                    type.getKind().isPrimitive(), inherited);
+        }
+    }
+
+    /**
+     * 为typeElement添加自身的@BindState成员变量。父类的@BindState成员变量由父类的InjectUtil读写，
+     * 这里按相同规则计算其key以检查重复，并确定compact key的起始下标及最近的有@BindState的父类
+     */
+    private void addStates(TypeElement typeElement, List<VariableElement> fields, ActivityAnnotatedInfo activityInfo) {
+        //父类的@BindState成员变量，从最上层的父类开始
+        List<TypeElement> stateTypes = new ArrayList<>();
+        List<List<VariableElement>> inheritedFields = new ArrayList<>();
+        TypeElement superType = typeElement;
+        while (true) {
+            TypeMirror superclass = superType.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) {
+                break;
+            }
+            superType = (TypeElement) typeUtils.asElement(superclass);
+            String superName = superType.getQualifiedName().toString();
+            if (superName.startsWith("android.") || superName.startsWith("java.")) {
+                break;
+            }
+            List<VariableElement> superFields = new ArrayList<>();
+            for (VariableElement field : ElementFilter.fieldsIn(superType.getEnclosedElements())) {
+                //不支持的类型在父类编译时已报错，这里跳过
+                if (field.getAnnotation(BindState.class) != null && getBundleType(field.asType()) != null) {
+                    superFields.add(field);
+                }
+            }
+            if (!superFields.isEmpty()) {
+                stateTypes.add(0, superType);
+                inheritedFields.add(0, superFields);
+            }
+        }
+        Set<String> keys = new HashSet<>();
+        int index = 0;
+        for (int i = 0; i < stateTypes.size(); i++) {
+            for (VariableElement field : inheritedFields.get(i)) {
+                String key = getStateKey(stateTypes.get(i), field, index++);
+                if (!keys.add(key)) {
+                    error(typeElement, "@BindState key \"%s\" is used by more than one field (%s.%s).",
+                            key, stateTypes.get(i).getQualifiedName(), field);
+                }
+            }
+        }
+        for (VariableElement field : fields) {
+            String key = getStateKey(typeElement, field, index++);
+            if (!keys.add(key)) {
+                error(field, "@BindState key \"%s\" is used by more than one field (%s.%s).",
+                        key, typeElement.getQualifiedName(), field);
+                continue;
+            }
+            TypeMirror type = field.asType();
+            activityInfo.addState(key, field.getSimpleName().toString(), TypeName.get(type), getBundleType(type),
+                    type.getKind().isPrimitive(), getStateFixedSize(key, type.getKind()));
+        }
+        if (!stateTypes.isEmpty()) {
+            TypeElement parentType = stateTypes.get(stateTypes.size() - 1);
+            String parentPackage = getPackageName(parentType);
+            activityInfo.setParentStateBinder(ClassName.get(parentPackage,
+                    getClassName(parentType, parentPackage) + ActivityAnnotatedInfo.SUFFIX));
+        }
+    }
+
+    /**
+     * @BindState的key：注解指定的值，否则按处理器参数bind.stateKeys生成
+     *
+     * @param index 成员变量在继承链中的下标（父类在前，按声明顺序），用于compact
+     */
+    private String getStateKey(TypeElement owner, VariableElement field, int index) {
+        String value = field.getAnnotation(BindState.class).value();
+        if (!value.isEmpty()) {
+            return value;
+        }
+        return getStateKey(stateKeys, elementUtils.getBinaryName(owner).toString(),
+                field.getSimpleName().toString(), index);
+    }
+
+    /**
+     * 按bind.stateKeys生成的key：qualified为“外部类$内部类.成员变量名”，field为成员变量名，compact为“#”加36进制下标
+     */
+    static String getStateKey(String mode, String binaryOwner, String name, int index) {
+        switch (mode) {
+            case STATE_KEYS_COMPACT:
+                return "#" + Integer.toString(index, Character.MAX_RADIX);
+            case STATE_KEYS_FIELD:
+                return name;
+            default:
+                return binaryOwner + "." + name;
+        }
+    }
+
+    /**
+     * Bundle中一项在Parcel中编译时即可确定的字节数：key（writeString：4字节长度 + UTF-16字符及结尾的0，按4字节对齐）、
+     * 4字节类型标记，以及基本类型的取值（long、double为8字节，char见{@link #CHAR_SERIALIZABLE_SIZE}，其他以int写入）。
+     * 与clazz库中StateSize的计算一致
+     */
+    static int getStateFixedSize(String key, TypeKind kind) {
+        int size = 4 + (((key.length() + 1) * 2 + 3) & ~3) + 4;
+        switch (kind) {
+            case LONG:
+            case DOUBLE:
+                return size + 8;
+            case CHAR:
+                return size + CHAR_SERIALIZABLE_SIZE;
+            default:
+                return kind.isPrimitive() ? size + 4 : size;
+        }
+    }
+
+    /**
+     * IntentBuilder中的方法名：去掉成员变量名的m前缀，如 mUserName -> userName
+     */
+    static String getBuilderMethodName(String fieldName) {
+        if (fieldName.length() > 1 && fieldName.charAt(0) == 'm' && Character.isUpperCase(fieldName.charAt(1))) {
+            String name = Character.toLowerCase(fieldName.charAt(1)) + fieldName.substring(2);
+            //如 mNew -> new 为关键字时保留原名
+            return SourceVersion.isKeyword(name) ? fieldName : name;
+        }
+        return fieldName;
+    }
+
+    /**
+     * @return 读写type类型extra的Bundle方法后缀（如Int对应getInt/putInt），不支持时返回null
+     */
+    private String getBundleType(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Boolean";
+            case BYTE:
+                return "Byte";
+            case SHORT:
+                return "Short";
+            case CHAR:
+                return "Char";
+            case INT:
+                return "Int";
+            case LONG:
+                return "Long";
+            case FLOAT:
+                return "Float";
+            case DOUBLE:
+                return "Double";
+            case ARRAY:
+                TypeMirror componentType = ((ArrayType) type).getComponentType();
+                if (componentType.getKind() == TypeKind.DECLARED) {
+                    return typeUtils.isSameType(componentType, stringType) ? "StringArray" : null;
+                }
+                String componentBundleType = componentType.getKind().isPrimitive() ? getBundleType(componentType) : null;
+                return componentBundleType != null ? componentBundleType + "Array" : null;
+            case DECLARED:
+                if (typeUtils.isSameType(type, stringType)) {
+                    return "String";
+                }
+                if (typeUtils.isSameType(type, charSequenceType)) {
+                    return "CharSequence";
+                }
+                if (typeUtils.isSameType(type, bundleType)) {
+                    return "Bundle";
+                }
+                if (typeUtils.isAssignable(type, parcelableType)) {
+                    return "Parcelable";
+                }
+                if (typeUtils.isAssignable(type, serializableType)) {
+                    return "Serializable";
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return type为LazyExtra<T>且T实现Parcelable时返回T，否则返回null
+     */
+    private TypeMirror getLazyExtraType(TypeMirror type) {
+        if (lazyExtraErasure == null || type.getKind() != TypeKind.DECLARED
+                || !typeUtils.isSameType(typeUtils.erasure(type), lazyExtraErasure)) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED
+                || !typeUtils.isAssignable(typeArguments.get(0), parcelableType)) {
+            return null;
+        }
+        return typeArguments.get(0);
+    }
+
+    /**
+     * @return type为LazyView<V>且V继承View时返回V，否则返回null
+     */
+    private TypeMirror getLazyViewType(TypeMirror type) {
+        if (lazyViewErasure == null || type.getKind() != TypeKind.DECLARED
+                || !typeUtils.isSameType(typeUtils.erasure(type), lazyViewErasure)) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (typeArguments.size() != 1 || !typeUtils.isSubtype(typeArguments.get(0), viewType)) {
+            return null;
+        }
+        return typeArguments.get(0);
+    }
+
+    private static void collectTypes(Collection<? extends Element> elements, List<TypeElement> types) {
+        for (TypeElement type : ElementFilter.typesIn(elements)) {
+            types.add(type);
+            collectTypes(type.getEnclosedElements(), types);
+        }
+    }
+
+    /**
+     * 查找最近的有注解绑定的父类：本轮处理的类（erasedTargetTypes）或其他模块中已编译的有注解成员的类，
+     * 到达android.、java.等框架类时停止
+     */
+    private TypeElement findParentType(TypeElement typeElement, Set<String> erasedTargetTypes) {
+        while (true) {
+            TypeMirror superType = typeElement.getSuperclass();
+            if (superType.getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+            typeElement = (TypeElement) typeUtils.asElement(superType);
+            String erasedName = typeUtils.erasure(superType).toString();
+            if (erasedName.startsWith("android.") || erasedName.startsWith("java.")) {
+                return null;
+            }
+            if (erasedTargetTypes.contains(erasedName) || hasBindings(typeElement)) {
+                return typeElement;
+            }
+        }
+    }
+
+    /**
+     * 类中是否有注解成员（结果在本轮缓存，多个子类共用同一个无注解的BaseActivity时只扫描一次）
+     */
+    private boolean hasBindings(TypeElement typeElement) {
+        Boolean bound = boundTypes.get(typeElement);
+        if (bound == null) {
+            bound = false;
+            for (Element member : typeElement.getEnclosedElements()) {
+                if (member.getAnnotation(BindView.class) != null || member.getAnnotation(BindViews.class) != null
+                        || member.getAnnotation(BindClick.class) != null || member.getAnnotation(BindTextChanged.class) != null
+                        || member.getAnnotation(BindScroll.class) != null || member.getAnnotation(BindExtra.class) != null
+                        || member.getAnnotation(BindState.class) != null) {
+                    bound = true;
+                    break;
+                }
+            }
+            boundTypes.put(typeElement, bound);
+        }
+        return bound;
+    }
+
+    /**
+     * 类或其父类（到android.、java.等框架类为止）是否有运行时反射绑定的注解（runtime模块，处理器不依赖该模块，按名称比较）
+     */
+    private boolean hasReflectiveBindings(TypeElement typeElement) {
+        while (true) {
+            Boolean reflective = reflectiveTypes.get(typeElement);
+            if (reflective == null) {
+                reflective = false;
+                members:
+                for (Element member : typeElement.getEnclosedElements()) {
+                    for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+                        if (REFLECTIVE_ANNOTATIONS.contains(annotation.getAnnotationType().toString())) {
+                            reflective = true;
+                            break members;
+                        }
+                    }
+                }
+                reflectiveTypes.put(typeElement, reflective);
+            }
+            if (reflective) {
+                return true;
+            }
+            TypeMirror superType = typeElement.getSuperclass();
+            if (superType.getKind() != TypeKind.DECLARED) {
+                return false;
+            }
+            String erasedName = typeUtils.erasure(superType).toString();
+            if (erasedName.startsWith("android.") || erasedName.startsWith("java.")) {
+                return false;
+            }
+            typeElement = (TypeElement) typeUtils.asElement(superType);
+        }
+    }
+
     private ActivityAnnotatedInfo getOrCreateActivityInfo(Map<TypeElement, ActivityAnnotatedInfo> targetClassMap,
-                                                          TypeElement enclosingElement) {
+                                                          TypeElement enclosingElement, Set<String> erasedTargetTypes) {
         ActivityAnnotatedInfo targetClass = targetClassMap.get(enclosingElement);
         if (targetClass == null) {
             String classPackage = getPackageName(enclosingElement);
             String className = getClassName(enclosingElement, classPackage);
 
-            targetClass = new ActivityAnnotatedInfo(classPackage, className);
+            targetClass = new ActivityAnnotatedInfo(classPackage, className, ClassName.get(enclosingElement),
+                    typeUtils.isSubtype(enclosingElement.asType(), activityType));
+            targetClass.setTrace(trace);
             targetClassMap.put(enclosingElement, targetClass);
+            // 记录有注解信息的类型擦除后的类信息
+            erasedTargetTypes.add(typeUtils.erasure(enclosingElement.asType()).toString());
         }
         return targetClass;
     }
@@ -277,10 +1320,28 @@ public class BindAnnotationProcessor extends AbstractProcessor{
         //只处理指定注解
         Set<String> annotations = new LinkedHashSet<>();
         annotations.add(BindView.class.getCanonicalName());
+        annotations.add(BindViews.class.getCanonicalName());
         annotations.add(BindClick.class.getCanonicalName());
+        annotations.add(BindTextChanged.class.getCanonicalName());
+        annotations.add(BindScroll.class.getCanonicalName());
+        annotations.add(BindLayout.class.getCanonicalName());
+        annotations.add(BindExtra.class.getCanonicalName());
+        annotations.add(BindState.class.getCanonicalName());
         return annotations;
     }
 
+    /**
+     * 处理器支持的参数，通过-A<key>=<value>传入
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<>();
+        options.add(OPTION_TRACE);
+        options.add(OPTION_RES_DIR);
+        options.add(OPTION_STATE_KEYS);
+        return options;
+    }
+
     /**
      * 用来指定你使用的Java版本。通常这里返回SourceVersion.latestSupported()。
      * 在Java 7中，你也可以使用注解来代替getSupportedAnnotationTypes()和getSupportedSourceVersion()
@@ -298,6 +1359,10 @@ public class BindAnnotationProcessor extends AbstractProcessor{
         processingEnv.getMessager().printMessage(ERROR, String.format(message, args), element);
     }
 
+    protected void warning(Element element, String message, Object... args) {
+        processingEnv.getMessager().printMessage(WARNING, String.format(message, args), element);
+    }
+
     protected String getPackageName(TypeElement type) {
         return elementUtils.getPackageOf(type).getQualifiedName().toString();
     }
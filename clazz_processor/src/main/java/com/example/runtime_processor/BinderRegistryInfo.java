@@ -0,0 +1,124 @@
+package com.example.runtime_processor;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * 存储一个编译模块中所有生成的Binder，用于生成BinderRegistry实现类
+ */
+
+class BinderRegistryInfo {
+    /**
+     * 生成的BinderRegistry所在包及类名，模块名不为空时类名加上"_模块名"后缀
+     */
+    static final String PACKAGE = "com.example.retentionpolicy.clazz";
+    static final String CLASS_NAME = "GeneratedBinderRegistry";
+
+    private static final ClassName BINDER_REGISTRY = ClassName.get(PACKAGE, "BinderRegistry");
+    private static final ClassName VIEW_BINDER_REGISTRY = ClassName.get(PACKAGE, "ViewBinderRegistry");
+
+    /**
+     * 被注解类的全名（Class.getName()）-> 生成的Binder类
+     */
+    private final Map<String, ClassName> binders = new LinkedHashMap<>();
+    /**
+     * 非Activity类（ViewBinder）的全名 -> 生成的ViewBinder类
+     */
+    private final Map<String, ClassName> viewBinders = new LinkedHashMap<>();
+    /**
+     * 所有被注解类，作为生成的BinderRegistry的originating elements（任何一个变化都需要重新生成）
+     */
+    private final List<TypeElement> originatingElements = new ArrayList<>();
+    private final String registryName;
+
+    BinderRegistryInfo(String moduleName) {
+        this.registryName = moduleName == null || moduleName.isEmpty() ? CLASS_NAME : CLASS_NAME + "_" + moduleName;
+    }
+
+    void addBinder(String targetName, ClassName binderName, boolean activityTarget, TypeElement originatingElement) {
+        if ((activityTarget ? binders : viewBinders).put(targetName, binderName) == null) {
+            originatingElements.add(originatingElement);
+        }
+    }
+
+    boolean isEmpty() {
+        return binders.isEmpty() && viewBinders.isEmpty();
+    }
+
+    /**
+     * 使用JavaPoet创建BinderRegistry实现类，按类名switch查找，不会加载其他Activity类
+     */
+    JavaFile createRegistryClassFile() {
+        TypeSpec.Builder registryClass = TypeSpec.classBuilder(registryName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(BINDER_REGISTRY)
+                .addSuperinterface(VIEW_BINDER_REGISTRY)
+                .addMethod(createGetBinderMethod("getBinder", ActivityAnnotatedInfo.BINDER, binders))
+                .addMethod(createGetBinderMethod("getViewBinder", ActivityAnnotatedInfo.VIEW_BINDER, viewBinders))
+                .addMethod(createGetTargetClassNamesMethod());
+        for (TypeElement originatingElement : originatingElements) {
+            registryClass.addOriginatingElement(originatingElement);
+        }
+        return JavaFile.builder(PACKAGE, registryClass.build())
+                .addFileComment("auto generate BinderRegistry class")
+                .build();
+    }
+
+    /**
+     * 返回所有被注解类的全名，只生成字符串常量，调用时不会加载这些类
+     */
+    private MethodSpec createGetTargetClassNamesMethod() {
+        CodeBlock.Builder names = CodeBlock.builder()
+                .add("return new $T[] {\n", String.class)
+                .indent();
+        for (String targetName : binders.keySet()) {
+            names.add("$S,\n", targetName);
+        }
+        for (String targetName : viewBinders.keySet()) {
+            names.add("$S,\n", targetName);
+        }
+        names.unindent().add("};\n");
+        return MethodSpec.methodBuilder("getTargetClassNames")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(String[].class)
+                .addCode(names.build())
+                .build();
+    }
+
+    private static MethodSpec createGetBinderMethod(String methodName, ClassName binderType, Map<String, ClassName> binders) {
+        CodeBlock.Builder switchBlock = CodeBlock.builder()
+                .beginControlFlow("switch (targetClass.getName())");
+        for (Map.Entry<String, ClassName> entry : binders.entrySet()) {
+            switchBlock.add("case $S:\n", entry.getKey())
+                    .indent()
+                    .addStatement("return new $T()", entry.getValue())
+                    .unindent();
+        }
+        switchBlock.add("default:\n")
+                .indent()
+                .addStatement("return null")
+                .unindent()
+                .endControlFlow();
+        return MethodSpec.methodBuilder(methodName)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(binderType, WildcardTypeName.subtypeOf(Object.class)))
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)), "targetClass")
+                .addCode(switchBlock.build())
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.runtime_processor;
+
+import com.example.runtime_annotation.BindClick;
+import com.example.runtime_annotation.BindExtra;
+import com.example.runtime_annotation.BindScroll;
+import com.example.runtime_annotation.BindState;
+import com.example.runtime_annotation.BindTextChanged;
+import com.example.runtime_annotation.BindView;
+import com.example.runtime_annotation.BindViews;
+import com.google.auto.service.AutoService;
+import com.squareup.javapoet.ClassName;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+import static javax.lang.model.element.ElementKind.CLASS;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+/**
+ * 汇总一个编译模块中所有被@BindView/@BindViews/@BindClick/@BindTextChanged/@BindScroll/@BindExtra/@BindState注解的类，生成BinderRegistry实现类。
+ * 输出依赖所有被注解类，因此与isolating的BindAnnotationProcessor分开，注册为aggregating增量处理器；
+ * 生成的xx_InjectUtil类名由被注解类决定，这里只需按相同规则推导，不依赖BindAnnotationProcessor的处理结果
+ */
+@AutoService(Processor.class)
+public class BinderRegistryProcessor extends AbstractProcessor {
+
+    /**
+     * 处理器参数：模块名，用作生成的BinderRegistry类名后缀，避免多个模块生成同名类
+     */
+    static final String OPTION_MODULE = "bind.module";
+
+    private TypeMirror activityType;
+    /**
+     * 所有轮次中的被注解类，在没有新的被注解类的轮次中一次性生成BinderRegistry
+     */
+    private BinderRegistryInfo registryInfo;
+    private boolean registryWritten;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnvironment) {
+        super.init(processingEnvironment);
+        activityType = processingEnvironment.getElementUtils().getTypeElement("android.app.Activity").asType();
+        registryInfo = new BinderRegistryInfo(processingEnvironment.getOptions().get(OPTION_MODULE));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> set, RoundEnvironment roundEnvironment) {
+        Set<TypeElement> targets = new LinkedHashSet<>();
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindView.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindViews.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindClick.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindTextChanged.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindScroll.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindExtra.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(BindState.class)) {
+            addTarget(targets, element.getEnclosingElement());
+        }
+        for (TypeElement target : targets) {
+            String classPackage = processingEnv.getElementUtils().getPackageOf(target).getQualifiedName().toString();
+            String className = BindAnnotationProcessor.getClassName(target, classPackage);
+            registryInfo.addBinder(classPackage + "." + className,
+                    ClassName.get(classPackage, className + ActivityAnnotatedInfo.SUFFIX),
+                    processingEnv.getTypeUtils().isSubtype(target.asType(), activityType), target);
+        }
+
+        // 本轮没有新的被注解类时生成BinderRegistry（生成的文件会在下一轮被编译）
+        if (targets.isEmpty() && !registryWritten && !registryInfo.isEmpty()) {
+            registryWritten = true;
+            try {
+                registryInfo.createRegistryClassFile().writeTo(processingEnv.getFiler());
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(ERROR, "Unable to generate BinderRegistry: " + e.getMessage());
+            }
+        }
+        // 不独占注解，BindAnnotationProcessor同样需要处理
+        return false;
+    }
+
+    /**
+     * 只收集BindAnnotationProcessor会为其生成Binder的类，不合法的类由BindAnnotationProcessor报告错误
+     */
+    private static void addTarget(Set<TypeElement> targets, Element enclosingElement) {
+        if (enclosingElement.getKind() == CLASS && !enclosingElement.getModifiers().contains(PRIVATE)) {
+            targets.add((TypeElement) enclosingElement);
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotations = new LinkedHashSet<>();
+        annotations.add(BindView.class.getCanonicalName());
+        annotations.add(BindViews.class.getCanonicalName());
+        annotations.add(BindClick.class.getCanonicalName());
+        annotations.add(BindTextChanged.class.getCanonicalName());
+        annotations.add(BindScroll.class.getCanonicalName());
+        annotations.add(BindExtra.class.getCanonicalName());
+        annotations.add(BindState.class.getCanonicalName());
+        return annotations;
+    }
+
+    /**
+     * 处理器支持的参数，通过-A<key>=<value>传入
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<>();
+        options.add(OPTION_MODULE);
+        return options;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return super.getSupportedSourceVersion();
+    }
+}
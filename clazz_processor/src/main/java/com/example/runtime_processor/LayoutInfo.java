@@ -0,0 +1,218 @@
+package com.example.runtime_processor;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * 从res/layout下的布局XML解析出每个带id的View：标签名（View类型）及从android.R.id.content开始的子View下标路径。
+ * 处理&lt;include&gt;（含&lt;merge&gt;根节点）；ViewStub、fragment的内容在运行时才确定，不记录其子View
+ */
+
+class LayoutInfo {
+
+    private static final String ANDROID_NS = "http://schemas.android.com/apk/res/android";
+    /**
+     * include嵌套的最大层数，防止布局循环引用
+     */
+    private static final int MAX_INCLUDE_DEPTH = 16;
+
+    /**
+     * 布局中的一个带id的View
+     */
+    static final class ViewInfo {
+        /**
+         * 标签名，如 TextView、com.dd.CircularProgressButton
+         */
+        final String tag;
+        /**
+         * 从android.R.id.content开始逐层的子View下标
+         */
+        final int[] path;
+
+        ViewInfo(String tag, int[] path) {
+            this.tag = tag;
+            this.path = path;
+        }
+    }
+
+    private final String name;
+    private final List<File> resDirs;
+    private final DocumentBuilder documentBuilder;
+    /**
+     * id名称 -> View，同一id出现多次时与findViewById一致取遍历顺序中的第一个
+     */
+    private final Map<String, ViewInfo> views = new HashMap<>();
+    private boolean singleConfiguration = true;
+
+    private LayoutInfo(String name, List<File> resDirs) throws ParserConfigurationException {
+        this.name = name;
+        this.resDirs = resDirs;
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        this.documentBuilder = factory.newDocumentBuilder();
+    }
+
+    /**
+     * 解析resDirs中的layout/name.xml
+     *
+     * @return 布局文件不存在时返回null
+     */
+    static LayoutInfo parse(List<File> resDirs, String name) throws IOException, SAXException, ParserConfigurationException {
+        LayoutInfo layout = new LayoutInfo(name, resDirs);
+        Element root = layout.loadRoot(name);
+        if (root == null) {
+            return null;
+        }
+        layout.singleConfiguration = layout.countConfigurations(name) == 1;
+        if ("merge".equals(root.getTagName())) {
+            layout.addChildren(root, new int[0], 0, 0);
+        } else {
+            int[] rootPath = {0};
+            layout.addView(root, null, rootPath, 0);
+        }
+        return layout;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * 只有layout目录中有该布局（没有layout-land等其他配置）时，子View下标路径才是确定的
+     */
+    boolean isSingleConfiguration() {
+        return singleConfiguration;
+    }
+
+    /**
+     * @return id名称对应的View，布局中没有时返回null
+     */
+    ViewInfo getView(String idName) {
+        return views.get(idName);
+    }
+
+    /**
+     * 记录view（include时idOverride为include标签上的id）并递归处理其子View
+     */
+    private void addView(Element view, String idOverride, int[] path, int includeDepth) throws IOException, SAXException {
+        String tag = view.getTagName();
+        if ("view".equals(tag)) {
+            tag = view.getAttribute("class");
+        }
+        String idName = idOverride != null ? idOverride : idName(view);
+        if (idName != null && !views.containsKey(idName)) {
+            views.put(idName, new ViewInfo(tag, path));
+        }
+        if (!"ViewStub".equals(tag) && !"fragment".equals(tag)) {
+            addChildren(view, path, 0, includeDepth);
+        }
+    }
+
+    /**
+     * 将parent的子节点依次作为下标从firstIndex开始的子View
+     *
+     * @return 下一个子View的下标
+     */
+    private int addChildren(Element parent, int[] parentPath, int firstIndex, int includeDepth) throws IOException, SAXException {
+        int index = firstIndex;
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            Element child = (Element) node;
+            String tag = child.getTagName();
+            //requestFocus、tag等不是View
+            if ("requestFocus".equals(tag) || "tag".equals(tag)) {
+                continue;
+            }
+            if ("include".equals(tag)) {
+                Element included = includeDepth < MAX_INCLUDE_DEPTH ? loadRoot(layoutName(child.getAttribute("layout"))) : null;
+                if (included == null) {
+                    //无法解析的include仍占一个位置
+                    index++;
+                    continue;
+                }
+                if ("merge".equals(included.getTagName())) {
+                    //merge的子View直接添加到parent中
+                    index = addChildren(included, parentPath, index, includeDepth + 1);
+                    continue;
+                }
+                addView(included, idName(child), childPath(parentPath, index), includeDepth + 1);
+            } else {
+                addView(child, null, childPath(parentPath, index), includeDepth);
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private static int[] childPath(int[] parentPath, int index) {
+        int[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+        path[parentPath.length] = index;
+        return path;
+    }
+
+    private Element loadRoot(String layoutName) throws IOException, SAXException {
+        if (layoutName == null) {
+            return null;
+        }
+        for (File resDir : resDirs) {
+            File file = new File(new File(resDir, "layout"), layoutName + ".xml");
+            if (file.isFile()) {
+                Document document = documentBuilder.parse(file);
+                return document.getDocumentElement();
+            }
+        }
+        return null;
+    }
+
+    private int countConfigurations(String layoutName) {
+        int count = 0;
+        for (File resDir : resDirs) {
+            File[] dirs = resDir.listFiles();
+            if (dirs == null) {
+                continue;
+            }
+            for (File dir : dirs) {
+                if (dir.getName().startsWith("layout") && new File(dir, layoutName + ".xml").isFile()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return "@+id/xxx"、"@id/xxx"中的xxx，没有id或为android:id时返回null
+     */
+    private static String idName(Element view) {
+        String id = view.getAttributeNS(ANDROID_NS, "id");
+        if (id.startsWith("@+id/")) {
+            return id.substring("@+id/".length());
+        }
+        if (id.startsWith("@id/")) {
+            return id.substring("@id/".length());
+        }
+        return null;
+    }
+
+    /**
+     * @return "@layout/xxx"中的xxx
+     */
+    private static String layoutName(String reference) {
+        return reference.startsWith("@layout/") ? reference.substring("@layout/".length()) : null;
+    }
+}
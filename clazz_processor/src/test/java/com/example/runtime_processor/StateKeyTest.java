@@ -0,0 +1,59 @@
+package com.example.runtime_processor;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import javax.lang.model.type.TypeKind;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @BindState的key生成及编译时计算的字节数
+ */
+public class StateKeyTest {
+
+    @Test
+    public void stateKeys() {
+        assertEquals("com.example.Outer$Inner.mCount", BindAnnotationProcessor.getStateKey(
+                BindAnnotationProcessor.STATE_KEYS_QUALIFIED, "com.example.Outer$Inner", "mCount", 3));
+        assertEquals("mCount", BindAnnotationProcessor.getStateKey(
+                BindAnnotationProcessor.STATE_KEYS_FIELD, "com.example.Outer$Inner", "mCount", 3));
+        assertEquals("#0", BindAnnotationProcessor.getStateKey(
+                BindAnnotationProcessor.STATE_KEYS_COMPACT, "com.example.Outer", "mCount", 0));
+        //36进制
+        assertEquals("#z", BindAnnotationProcessor.getStateKey(
+                BindAnnotationProcessor.STATE_KEYS_COMPACT, "com.example.Outer", "mCount", 35));
+        assertEquals("#10", BindAnnotationProcessor.getStateKey(
+                BindAnnotationProcessor.STATE_KEYS_COMPACT, "com.example.Outer", "mCount", 36));
+    }
+
+    @Test
+    public void fixedSize() {
+        //key "#0"：4 + 对齐(3 * 2) = 12，类型标记4
+        int header = 12 + 4;
+        assertEquals(header + 4, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.INT));
+        assertEquals(header + 4, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.BOOLEAN));
+        assertEquals(header + 8, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.LONG));
+        assertEquals(header + 8, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.DOUBLE));
+        //引用类型的取值由StateSize在运行时计算
+        assertEquals(header, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.DECLARED));
+        assertEquals(header, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.ARRAY));
+        //"mCount"：4 + 对齐(7 * 2) = 20
+        assertEquals(20 + 4 + 4, BindAnnotationProcessor.getStateFixedSize("mCount", TypeKind.INT));
+    }
+
+    @Test
+    public void charIsSerializable() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject('a');
+        out.close();
+        String className = Character.class.getName();
+        int expected = 4 + (((className.length() + 1) * 2 + 3) & ~3) + 4 + ((bytes.size() + 3) & ~3);
+        assertEquals(expected, BindAnnotationProcessor.CHAR_SERIALIZABLE_SIZE);
+        assertEquals(12 + 4 + expected, BindAnnotationProcessor.getStateFixedSize("#0", TypeKind.CHAR));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.retentionpolicy.runtime;
+
+import android.view.View;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 访问器工厂：为@FindViewById、@FindViewsById成员变量和@SetOnClickById、@SetOnTextChangedById、@SetOnScrollById方法创建预先链接好的访问器，
+ * 每个Class只创建一次，随绑定计划缓存，注入和点击时不再做反射查找
+ */
+
+public interface AccessorFactory {
+
+    ViewSetter newViewSetter(Field field);
+
+    ViewsSetter newViewsSetter(Field field);
+
+    ClickInvoker newClickInvoker(Method method);
+
+    EventInvoker newEventInvoker(Method method);
+
+    /**
+     * 为target的某个成员变量赋值
+     */
+    interface ViewSetter {
+        void set(Object target, View view);
+    }
+
+    /**
+     * 为target的某个View数组或List成员变量赋值
+     */
+    interface ViewsSetter {
+        void set(Object target, Object views);
+    }
+
+    /**
+     * 调用target的某个点击处理方法
+     */
+    interface ClickInvoker {
+        void invoke(Object target, View view);
+    }
+
+    /**
+     * 调用target的某个事件处理方法，方法有一个参数时传入argument（如当前文本、滚动的View）
+     */
+    interface EventInvoker {
+        void invoke(Object target, Object argument);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.retentionpolicy.runtime;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * 生成代码（处理器参数-Abind.trace=true时）使用的trace区段，默认写入systrace（API 18以上），
+ * 测试中可通过setTracer替换为记录调用的实现
+ */
+
+public final class BindTrace {
+
+    /**
+     * systrace区段名称的最大长度
+     */
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+    /**
+     * trace区段的开始与结束，需成对在同一线程调用
+     */
+    public interface Tracer {
+        void beginSection(String sectionName);
+
+        void endSection();
+    }
+
+    /**
+     * 默认实现：android.os.Trace，低于API 18时不做任何事
+     */
+    public static final Tracer SYSTRACE = new Tracer() {
+        @Override
+        public void beginSection(String sectionName) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                Trace.beginSection(sectionName.length() > MAX_SECTION_NAME_LENGTH
+                        ? sectionName.substring(0, MAX_SECTION_NAME_LENGTH) : sectionName);
+            }
+        }
+
+        @Override
+        public void endSection() {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                Trace.endSection();
+            }
+        }
+    };
+
+    private static volatile Tracer tracer = SYSTRACE;
+
+    private BindTrace() {
+    }
+
+    /**
+     * 替换trace实现，传入null恢复为SYSTRACE
+     */
+    public static void setTracer(Tracer tracer) {
+        BindTrace.tracer = tracer != null ? tracer : SYSTRACE;
+    }
+
+    public static void begin(String sectionName) {
+        tracer.beginSection(sectionName);
+    }
+
+    public static void end() {
+        tracer.endSection();
+    }
+}
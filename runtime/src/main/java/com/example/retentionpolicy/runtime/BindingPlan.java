@@ -0,0 +1,329 @@
+package com.example.retentionpolicy.runtime;
+
+import android.view.View;
+import android.widget.TextView;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 一个类的绑定计划（@FindViewById、@FindViewsById成员变量及@SetOnClickById、@SetOnTextChangedById、@SetOnScrollById方法），每个Class只解析一次并缓存
+ */
+
+final class BindingPlan {
+
+    private static final ConcurrentMap<Class<?>, BindingPlan> PLANS = new ConcurrentHashMap<>();
+    private static volatile AccessorFactory accessorFactory = new ReflectiveAccessorFactory();
+
+    final List<FieldBinding> fields;
+    final List<GroupBinding> groups;
+    final List<EventBinding> events;
+    /**
+     * 点击处理方法表：clickIds升序排列，clickInvokers与之一一对应，供ClickDispatcher二分查找
+     */
+    final int[] clickIds;
+    final AccessorFactory.ClickInvoker[] clickInvokers;
+    /**
+     * 需要查找的所有View的id（成员变量、View组、点击及文本变化、滚动事件），升序排列且无重复，供ViewResolver一次遍历查找
+     */
+    final int[] viewIds;
+
+    private BindingPlan(List<FieldBinding> fields, List<GroupBinding> groups, List<EventBinding> events,
+                        SortedMap<Integer, AccessorFactory.ClickInvoker> clicks) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.groups = Collections.unmodifiableList(groups);
+        this.events = Collections.unmodifiableList(events);
+        this.clickIds = new int[clicks.size()];
+        this.clickInvokers = new AccessorFactory.ClickInvoker[clicks.size()];
+        int i = 0;
+        for (Map.Entry<Integer, AccessorFactory.ClickInvoker> entry : clicks.entrySet()) {
+            clickIds[i] = entry.getKey();
+            clickInvokers[i] = entry.getValue();
+            i++;
+        }
+        SortedSet<Integer> ids = new TreeSet<>(clicks.keySet());
+        for (FieldBinding field : fields) {
+            ids.add(field.id);
+        }
+        for (GroupBinding group : groups) {
+            for (int id : group.ids) {
+                ids.add(id);
+            }
+        }
+        for (EventBinding event : events) {
+            ids.add(event.id);
+        }
+        this.viewIds = new int[ids.size()];
+        i = 0;
+        for (int id : ids) {
+            viewIds[i++] = id;
+        }
+    }
+
+    /**
+     * @return id在viewIds中的下标
+     */
+    int indexOfView(int id) {
+        return Arrays.binarySearch(viewIds, id);
+    }
+
+    /**
+     * 查找id对应的点击处理方法，没有时返回null
+     */
+    AccessorFactory.ClickInvoker findClickInvoker(int id) {
+        int index = Arrays.binarySearch(clickIds, id);
+        return index >= 0 ? clickInvokers[index] : null;
+    }
+
+    /**
+     * @return 已缓存的绑定计划，没有时返回null（不解析）
+     */
+    static BindingPlan peek(Class<?> targetClass) {
+        return PLANS.get(targetClass);
+    }
+
+    /**
+     * 获取targetClass对应的绑定计划，未缓存时解析并缓存（多线程同时解析时以先写入者为准）
+     */
+    static BindingPlan forClass(Class<?> targetClass) {
+        BindingPlan plan = PLANS.get(targetClass);
+        if (plan == null) {
+            plan = parse(targetClass, accessorFactory);
+            BindingPlan existing = PLANS.putIfAbsent(targetClass, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * 替换访问器工厂，已缓存的绑定计划作废
+     */
+    static void setAccessorFactory(AccessorFactory factory) {
+        accessorFactory = factory;
+        PLANS.clear();
+    }
+
+    /**
+     * 沿继承链收集注解信息，到达android.、java.等框架类时停止。
+     * 同一个id在子类和父类中都有点击方法时，以子类的为准
+     */
+    private static BindingPlan parse(Class<?> targetClass, AccessorFactory factory) {
+        List<FieldBinding> fields = new ArrayList<>();
+        List<GroupBinding> groups = new ArrayList<>();
+        List<EventBinding> events = new ArrayList<>();
+        SortedMap<Integer, AccessorFactory.ClickInvoker> clicks = new TreeMap<>();
+        Class<?> cls = targetClass;
+        while (cls != null && !isFrameworkClass(cls)) {
+            for (Field field : cls.getDeclaredFields()) {
+                FindViewById annotation = field.getAnnotation(FindViewById.class);
+                if (annotation != null) {
+                    fields.add(new FieldBinding(factory.newViewSetter(field), annotation.value()));
+                }
+                FindViewsById groupAnnotation = field.getAnnotation(FindViewsById.class);
+                if (groupAnnotation != null) {
+                    groups.add(new GroupBinding(factory.newViewsSetter(field), groupAnnotation.value().clone(),
+                            getGroupElementType(field), field.getType() == List.class));
+                }
+            }
+            for (Method method : cls.getDeclaredMethods()) {
+                SetOnClickById annotation = method.getAnnotation(SetOnClickById.class);
+                if (annotation != null && !clicks.containsKey(annotation.value())) {
+                    checkClickMethod(method);
+                    clicks.put(annotation.value(), factory.newClickInvoker(method));
+                }
+                SetOnTextChangedById textChanged = method.getAnnotation(SetOnTextChangedById.class);
+                if (textChanged != null) {
+                    checkEventMethod(method, CharSequence.class, "@SetOnTextChangedById");
+                    events.add(new EventBinding(EventBinding.TEXT_CHANGED, textChanged.value(), textChanged.debounce(),
+                            textChanged.throttle(), factory.newEventInvoker(method)));
+                }
+                SetOnScrollById scroll = method.getAnnotation(SetOnScrollById.class);
+                if (scroll != null) {
+                    checkEventMethod(method, View.class, "@SetOnScrollById");
+                    events.add(new EventBinding(EventBinding.SCROLL, scroll.value(), scroll.debounce(),
+                            scroll.throttle(), factory.newEventInvoker(method)));
+                }
+            }
+            cls = cls.getSuperclass();
+        }
+        return new BindingPlan(fields, groups, events, clicks);
+    }
+
+    static boolean hasDeclaredBindings(Class<?> cls) {
+        for (Field field : cls.getDeclaredFields()) {
+            if (field.isAnnotationPresent(FindViewById.class) || field.isAnnotationPresent(FindViewsById.class)) {
+                return true;
+            }
+        }
+        for (Method method : cls.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(SetOnClickById.class) || method.isAnnotationPresent(SetOnTextChangedById.class)
+                    || method.isAnnotationPresent(SetOnScrollById.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 点击方法只能无参数，或只有一个View（或其子类）类型的参数
+     */
+    private static void checkClickMethod(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length > 1
+                || (parameterTypes.length == 1 && !View.class.isAssignableFrom(parameterTypes[0]))) {
+            throw new IllegalStateException("@SetOnClickById methods may only have one parameter which is View (or subclass) ("
+                    + method.getDeclaringClass().getName() + "." + method.getName() + ")");
+        }
+    }
+
+    /**
+     * 事件处理方法只能无参数，或只有一个可接收任意argumentType实例的参数（argumentType或其父类型）：
+     * 文本变化传入的是TextView.getText()（CharSequence，可能是String、Editable或Spanned），滚动传入的是View，
+     * 参数为其子类型（如String、ScrollView）时在事件发生时才会失败，这里在解析时拒绝
+     */
+    private static void checkEventMethod(Method method, Class<?> argumentType, String annotation) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        boolean valid = parameterTypes.length == 0
+                || (parameterTypes.length == 1 && parameterTypes[0].isAssignableFrom(argumentType));
+        if (!valid) {
+            throw new IllegalStateException(annotation + " methods may only have one parameter which is "
+                    + argumentType.getSimpleName() + " (" + method.getDeclaringClass().getName() + "." + method.getName() + ")");
+        }
+    }
+
+    /**
+     * @FindViewsById成员变量只能是View（或其子类）数组或List；List的元素类型无法确定时按View处理
+     */
+    private static Class<?> getGroupElementType(Field field) {
+        Class<?> type = field.getType();
+        if (type.isArray() && View.class.isAssignableFrom(type.getComponentType())) {
+            return type.getComponentType();
+        }
+        if (type == List.class) {
+            Type genericType = field.getGenericType();
+            if (genericType instanceof ParameterizedType) {
+                Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                if (argument instanceof Class && View.class.isAssignableFrom((Class<?>) argument)) {
+                    return (Class<?>) argument;
+                }
+            }
+            return View.class;
+        }
+        throw new IllegalStateException("@FindViewsById fields must be View (or subclass) arrays or List<View> ("
+                + field.getDeclaringClass().getName() + "." + field.getName() + ")");
+    }
+
+    private static boolean isFrameworkClass(Class<?> cls) {
+        String clsName = cls.getName();
+        return clsName.startsWith("android.") || clsName.startsWith("java.");
+    }
+
+    /**
+     * 被@FindViewById注解的成员变量及其id
+     */
+    static final class FieldBinding {
+        final AccessorFactory.ViewSetter setter;
+        final int id;
+
+        FieldBinding(AccessorFactory.ViewSetter setter, int id) {
+            this.setter = setter;
+            this.id = id;
+        }
+    }
+
+    /**
+     * 被@FindViewsById注解的成员变量及其id
+     */
+    static final class GroupBinding {
+        final AccessorFactory.ViewsSetter setter;
+        final int[] ids;
+        /**
+         * 创建的数组的元素类型（数组成员变量的元素类型或List的类型参数）
+         */
+        final Class<?> elementType;
+        final boolean list;
+
+        GroupBinding(AccessorFactory.ViewsSetter setter, int[] ids, Class<?> elementType, boolean list) {
+            this.setter = setter;
+            this.ids = ids;
+            this.elementType = elementType;
+            this.list = list;
+        }
+
+        /**
+         * @param views 按plan.viewIds找到的View
+         * @return 按ids顺序排列的数组或List
+         */
+        Object collect(BindingPlan plan, View[] views) {
+            View[] group = (View[]) Array.newInstance(elementType, ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                group[i] = views[plan.indexOfView(ids[i])];
+            }
+            return list ? Arrays.asList(group) : group;
+        }
+    }
+
+    /**
+     * 被@SetOnTextChangedById或@SetOnScrollById注解的方法
+     */
+    static final class EventBinding {
+        static final int TEXT_CHANGED = 0;
+        static final int SCROLL = 1;
+
+        final int type;
+        final int id;
+        final long debounceMillis;
+        final long throttleMillis;
+        final AccessorFactory.EventInvoker invoker;
+
+        EventBinding(int type, int id, long debounceMillis, long throttleMillis, AccessorFactory.EventInvoker invoker) {
+            this.type = type;
+            this.id = id;
+            this.debounceMillis = debounceMillis;
+            this.throttleMillis = throttleMillis;
+            this.invoker = invoker;
+        }
+
+        /**
+         * 为view创建EventCoalescer并开始监听，合并后的事件调用target的处理方法
+         *
+         * @return 开始监听的EventCoalescer，detach()时停止监听
+         */
+        EventCoalescer attach(final Object target, View view) {
+            EventCoalescer coalescer;
+            if (type == TEXT_CHANGED) {
+                coalescer = new EventCoalescer.TextChanged(view, debounceMillis, throttleMillis) {
+                    @Override
+                    protected void onCoalescedEvent(View view) {
+                        invoker.invoke(target, ((TextView) view).getText());
+                    }
+                };
+            } else {
+                coalescer = new EventCoalescer.Scroll(view, debounceMillis, throttleMillis) {
+                    @Override
+                    protected void onCoalescedEvent(View view) {
+                        invoker.invoke(target, view);
+                    }
+                };
+            }
+            coalescer.attach();
+            return coalescer;
+        }
+    }
+}
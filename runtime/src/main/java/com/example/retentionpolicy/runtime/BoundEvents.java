@@ -0,0 +1,34 @@
+package com.example.retentionpolicy.runtime;
+
+/**
+ * ViewInjector.bind安装的事件监听（@SetOnTextChangedById、@SetOnScrollById），在onDestroy中调用detach()
+ * 停止监听并取消尚未执行的合并调用，之后不再回调Activity
+ */
+
+public final class BoundEvents {
+
+    /**
+     * 没有事件绑定时返回的空实现
+     */
+    public static final BoundEvents EMPTY = new BoundEvents(null);
+
+    private EventCoalescer[] coalescers;
+
+    BoundEvents(EventCoalescer[] coalescers) {
+        this.coalescers = coalescers;
+    }
+
+    /**
+     * 停止所有事件监听，可重复调用
+     */
+    public void detach() {
+        EventCoalescer[] coalescers = this.coalescers;
+        if (coalescers == null) {
+            return;
+        }
+        this.coalescers = null;
+        for (EventCoalescer coalescer : coalescers) {
+            coalescer.detach();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.retentionpolicy.runtime;
+
+import android.view.View;
+
+/**
+ * 一个注入对象的所有@SetOnClickById点击事件共用的Listener，按View的id分发到对应的处理方法
+ */
+
+final class ClickDispatcher implements View.OnClickListener {
+
+    private final Object target;
+    private final BindingPlan plan;
+
+    ClickDispatcher(Object target, BindingPlan plan) {
+        this.target = target;
+        this.plan = plan;
+    }
+
+    @Override
+    public void onClick(View v) {
+        AccessorFactory.ClickInvoker invoker = plan.findClickInvoker(v.getId());
+        if (invoker != null) {
+            invoker.invoke(target, v);
+        }
+    }
+}
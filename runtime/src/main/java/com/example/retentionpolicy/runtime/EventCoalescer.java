@@ -0,0 +1,193 @@
+package com.example.retentionpolicy.runtime;
+
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.widget.TextView;
+
+/**
+ * 合并高频事件（文本变化、滚动）后再调用处理方法，供ViewInjector及BindAnnotationProcessor生成的代码使用：
+ * <ul>
+ * <li>debounce：事件停止debounce毫秒后调用一次</li>
+ * <li>throttle：立即调用，之后throttle毫秒内的事件合并为窗口结束时的一次调用</li>
+ * <li>都为0时每个事件都立即调用</li>
+ * </ul>
+ * 计时使用自身作为Runnable通过View.postDelayed调度，一次连续的事件只调度一次，事件本身只记录时间，不分配对象。
+ * 只能在主线程使用
+ */
+
+public abstract class EventCoalescer implements Runnable {
+
+    /**
+     * 还没有调用过处理方法时的lastFireTime，保证throttle的第一个事件立即调用
+     */
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    protected final View view;
+    private final long debounceMillis;
+    private final long throttleMillis;
+    private long lastEventTime;
+    private long lastFireTime = NEVER;
+    private boolean scheduled;
+    private boolean detached;
+
+    protected EventCoalescer(View view, long debounceMillis, long throttleMillis) {
+        if (debounceMillis < 0 || throttleMillis < 0 || (debounceMillis > 0 && throttleMillis > 0)) {
+            throw new IllegalArgumentException("Only one of debounce (" + debounceMillis
+                    + ") and throttle (" + throttleMillis + ") may be set");
+        }
+        this.view = view;
+        this.debounceMillis = debounceMillis;
+        this.throttleMillis = throttleMillis;
+    }
+
+    /**
+     * 开始监听view的事件
+     */
+    public abstract void attach();
+
+    /**
+     * 停止监听并取消尚未执行的调用，之后不再调用处理方法
+     */
+    public void detach() {
+        detached = true;
+        if (scheduled) {
+            scheduled = false;
+            view.removeCallbacks(this);
+        }
+    }
+
+    /**
+     * 合并后调用被注解的处理方法
+     */
+    protected abstract void onCoalescedEvent(View view);
+
+    /**
+     * 收到一次原始事件
+     */
+    public final void onEvent() {
+        if (detached) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        lastEventTime = now;
+        if (scheduled) {
+            //已有调度，执行时会根据lastEventTime决定是否推迟
+            return;
+        }
+        if (debounceMillis > 0) {
+            schedule(debounceMillis);
+        } else {
+            long wait = lastFireTime + throttleMillis - now;
+            if (wait > 0) {
+                schedule(wait);
+            } else {
+                fire(now);
+            }
+        }
+    }
+
+    @Override
+    public final void run() {
+        scheduled = false;
+        if (detached) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        if (debounceMillis > 0) {
+            long remaining = lastEventTime + debounceMillis - now;
+            if (remaining > 0) {
+                schedule(remaining);
+                return;
+            }
+        }
+        fire(now);
+    }
+
+    private void schedule(long delayMillis) {
+        scheduled = true;
+        view.postDelayed(this, delayMillis);
+    }
+
+    private void fire(long now) {
+        lastFireTime = now;
+        onCoalescedEvent(view);
+    }
+
+    /**
+     * TextView的文本变化（afterTextChanged）
+     */
+    public abstract static class TextChanged extends EventCoalescer implements TextWatcher {
+
+        protected TextChanged(View view, long debounceMillis, long throttleMillis) {
+            super(view, debounceMillis, throttleMillis);
+        }
+
+        @Override
+        public void attach() {
+            ((TextView) view).addTextChangedListener(this);
+        }
+
+        @Override
+        public void detach() {
+            ((TextView) view).removeTextChangedListener(this);
+            super.detach();
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            onEvent();
+        }
+    }
+
+    /**
+     * View自身的滚动（scrollX/scrollY变化，如ScrollView、HorizontalScrollView）。
+     * 通过ViewTreeObserver监听（兼容API 15），窗口中其他View滚动而view的滚动位置未变时忽略
+     */
+    public abstract static class Scroll extends EventCoalescer implements ViewTreeObserver.OnScrollChangedListener {
+
+        private int lastScrollX;
+        private int lastScrollY;
+
+        protected Scroll(View view, long debounceMillis, long throttleMillis) {
+            super(view, debounceMillis, throttleMillis);
+        }
+
+        @Override
+        public void attach() {
+            lastScrollX = view.getScrollX();
+            lastScrollY = view.getScrollY();
+            view.getViewTreeObserver().addOnScrollChangedListener(this);
+        }
+
+        @Override
+        public void detach() {
+            ViewTreeObserver observer = view.getViewTreeObserver();
+            if (observer.isAlive()) {
+                observer.removeOnScrollChangedListener(this);
+            }
+            super.detach();
+        }
+
+        @Override
+        public void onScrollChanged() {
+            int scrollX = view.getScrollX();
+            int scrollY = view.getScrollY();
+            if (scrollX != lastScrollX || scrollY != lastScrollY) {
+                lastScrollX = scrollX;
+                lastScrollY = scrollY;
+                onEvent();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.retentionpolicy.runtime;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 将一组id对应的View绑定到View（或其子类）数组或List<View>成员变量上，
+ * 与@FindViewById、@SetOnClickById的id一起在一次View树遍历中查找；元素顺序与value一致，未找到的元素为null
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FindViewsById {
+    int[] value();
+}
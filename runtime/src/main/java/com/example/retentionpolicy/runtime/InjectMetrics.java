@@ -0,0 +1,60 @@
+package com.example.retentionpolicy.runtime;
+
+/**
+ * 注入统计接口（ViewInjector、BindInjector、Injector共用），默认为NONE：
+ * 未设置Listener时注入路径上不计时、不统计，也不拼接日志字符串
+ */
+
+public final class InjectMetrics {
+
+    /**
+     * 注入统计回调，在调用inject的线程上同步回调，实现需线程安全且尽量轻量
+     */
+    public interface Listener {
+        /**
+         * 查找targetClass的绑定计划/Binder缓存
+         *
+         * @param hit 是否命中缓存（未命中时需要反射解析或加载类）
+         */
+        void onCacheLookup(Class<?> targetClass, boolean hit);
+
+        /**
+         * 一次注入完成
+         *
+         * @param durationNanos      包含缓存查找的总耗时
+         * @param viewsResolved      找到的View数量；生成代码注入时为编译时确定的查找个数（不区分是否找到），
+         *                           手写的Binder为-1
+         * @param listenersInstalled 设置的点击及事件Listener数量，手写的Binder为-1
+         */
+        void onInject(Class<?> targetClass, long durationNanos, int viewsResolved, int listenersInstalled);
+    }
+
+    /**
+     * 默认的空实现，注入时与之比较以跳过所有统计
+     */
+    public static final Listener NONE = new Listener() {
+        @Override
+        public void onCacheLookup(Class<?> targetClass, boolean hit) {
+        }
+
+        @Override
+        public void onInject(Class<?> targetClass, long durationNanos, int viewsResolved, int listenersInstalled) {
+        }
+    };
+
+    private static volatile Listener listener = NONE;
+
+    private InjectMetrics() {
+    }
+
+    /**
+     * 设置统计回调，传入null恢复为NONE
+     */
+    public static void setListener(Listener listener) {
+        InjectMetrics.listener = listener != null ? listener : NONE;
+    }
+
+    public static Listener getListener() {
+        return listener;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.retentionpolicy.runtime;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按类汇总的注入统计：注入次数及耗时直方图、缓存命中/未命中、找到的View及设置的Listener数量，
+ * 通过InjectMetrics.setListener(new InjectStats())启用
+ */
+
+public class InjectStats implements InjectMetrics.Listener {
+
+    /**
+     * 耗时直方图的桶数：第i个桶统计[2^i, 2^(i+1))微秒的注入，第0个桶包含小于1微秒的，最后一个桶包含更长的
+     */
+    public static final int BUCKETS = 16;
+
+    private final ConcurrentMap<Class<?>, ClassStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCacheLookup(Class<?> targetClass, boolean hit) {
+        ClassStats classStats = get(targetClass);
+        (hit ? classStats.cacheHits : classStats.cacheMisses).incrementAndGet();
+    }
+
+    @Override
+    public void onInject(Class<?> targetClass, long durationNanos, int viewsResolved, int listenersInstalled) {
+        ClassStats classStats = get(targetClass);
+        classStats.injectCount.incrementAndGet();
+        classStats.totalNanos.addAndGet(durationNanos);
+        classStats.histogram.incrementAndGet(bucketOf(durationNanos));
+        if (viewsResolved > 0) {
+            classStats.viewsResolved.addAndGet(viewsResolved);
+        }
+        if (listenersInstalled > 0) {
+            classStats.listenersInstalled.addAndGet(listenersInstalled);
+        }
+    }
+
+    /**
+     * @return targetClass的统计，没有时创建
+     */
+    public ClassStats get(Class<?> targetClass) {
+        ClassStats classStats = stats.get(targetClass);
+        if (classStats == null) {
+            classStats = new ClassStats();
+            ClassStats existing = stats.putIfAbsent(targetClass, classStats);
+            if (existing != null) {
+                classStats = existing;
+            }
+        }
+        return classStats;
+    }
+
+    /**
+     * @return 所有类的统计（只读视图）
+     */
+    public Map<Class<?>, ClassStats> getAll() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    static int bucketOf(long durationNanos) {
+        long micros = durationNanos / 1000;
+        if (micros <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * 一个类的统计，各项计数可在注入时并发更新
+     */
+    public static final class ClassStats {
+        final AtomicLong injectCount = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong cacheHits = new AtomicLong();
+        final AtomicLong cacheMisses = new AtomicLong();
+        final AtomicLong viewsResolved = new AtomicLong();
+        final AtomicLong listenersInstalled = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        public long getInjectCount() {
+            return injectCount.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+
+        public long getCacheMisses() {
+            return cacheMisses.get();
+        }
+
+        public long getViewsResolved() {
+            return viewsResolved.get();
+        }
+
+        public long getListenersInstalled() {
+            return listenersInstalled.get();
+        }
+
+        /**
+         * @return 耗时直方图的副本，下标含义见{@link #BUCKETS}
+         */
+        public long[] getHistogram() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+            }
+            return counts;
+        }
+
+        @Override
+        public String toString() {
+            long count = getInjectCount();
+            return "injects=" + count
+                    + ", avgMicros=" + (count > 0 ? getTotalNanos() / count / 1000 : 0)
+                    + ", cacheHits=" + getCacheHits()
+                    + ", cacheMisses=" + getCacheMisses()
+                    + ", viewsResolved=" + getViewsResolved()
+                    + ", listenersInstalled=" + getListenersInstalled();
+        }
+    }
+}
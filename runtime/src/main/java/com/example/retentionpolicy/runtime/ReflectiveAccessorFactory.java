@@ -0,0 +1,99 @@
+package com.example.retentionpolicy.runtime;
+
+import android.view.View;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 默认访问器工厂，基于反射实现。
+ * 创建时即调用setAccessible(true)，之后每次赋值/调用不再重复做访问检查的设置。
+ * （minSdkVersion 15且compileSdkVersion 24下无法使用MethodHandle/LambdaMetafactory，
+ * 需要更快的实现时可通过ViewInjector.setAccessorFactory替换）
+ */
+
+public final class ReflectiveAccessorFactory implements AccessorFactory {
+
+    @Override
+    public ViewSetter newViewSetter(final Field field) {
+        field.setAccessible(true);
+        return new ViewSetter() {
+            @Override
+            public void set(Object target, View view) {
+                try {
+                    field.set(target, view);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("can't set field " + field.getName(), e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ViewsSetter newViewsSetter(final Field field) {
+        field.setAccessible(true);
+        return new ViewsSetter() {
+            @Override
+            public void set(Object target, Object views) {
+                try {
+                    field.set(target, views);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("can't set field " + field.getName(), e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ClickInvoker newClickInvoker(final Method method) {
+        method.setAccessible(true);
+        final boolean passView = method.getParameterTypes().length == 1;
+        return new ClickInvoker() {
+            @Override
+            public void invoke(Object target, View view) {
+                if (passView) {
+                    ReflectiveAccessorFactory.invoke(method, target, view);
+                } else {
+                    ReflectiveAccessorFactory.invoke(method, target);
+                }
+            }
+        };
+    }
+
+    @Override
+    public EventInvoker newEventInvoker(final Method method) {
+        method.setAccessible(true);
+        final boolean passArgument = method.getParameterTypes().length == 1;
+        return new EventInvoker() {
+            @Override
+            public void invoke(Object target, Object argument) {
+                if (passArgument) {
+                    ReflectiveAccessorFactory.invoke(method, target, argument);
+                } else {
+                    ReflectiveAccessorFactory.invoke(method, target);
+                }
+            }
+        };
+    }
+
+    /**
+     * 调用method，方法抛出的RuntimeException、Error原样抛出
+     */
+    private static void invoke(Method method, Object target, Object... args) {
+        try {
+            method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("can't invoke method " + method.getName(), e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("method " + method.getName() + " threw an exception", cause);
+        }
+    }
+}
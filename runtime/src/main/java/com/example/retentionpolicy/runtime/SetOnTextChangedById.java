@@ -0,0 +1,26 @@
+package com.example.retentionpolicy.runtime;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 监听id对应TextView（如EditText）的文本变化，高频的输入事件按debounce/throttle合并后调用被注解的方法。
+ * 方法无参数，或只有一个CharSequence（当前文本）参数；debounce与throttle（毫秒）最多设置一个，都为0时每次文本变化都调用
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SetOnTextChangedById {
+    int value();
+
+    /**
+     * 事件停止debounce毫秒后调用一次（如输入停止后再校验）
+     */
+    long debounce() default 0;
+
+    /**
+     * 第一个事件立即调用，之后每throttle毫秒最多调用一次，窗口内的事件合并为窗口结束时的一次调用
+     */
+    long throttle() default 0;
+}
@@ -0,0 +1,50 @@
+package com.example.retentionpolicy.runtime;
+
+import android.os.Looper;
+import android.util.Log;
+
+/**
+ * 类似StrictMode的注入耗时预算：主线程上单次注入超过阈值时回调onSlowBind（默认输出警告日志），
+ * 其他统计转发给delegate。使用方式：InjectMetrics.setListener(new SlowBindDetector(8, stats))
+ */
+
+public class SlowBindDetector implements InjectMetrics.Listener {
+
+    private static final String TAG = "SlowBindDetector";
+
+    private final long thresholdNanos;
+    private final InjectMetrics.Listener delegate;
+
+    /**
+     * @param thresholdMillis 主线程单次注入的耗时预算（毫秒）
+     * @param delegate        同时接收所有统计的Listener，不需要时传入null
+     */
+    public SlowBindDetector(long thresholdMillis, InjectMetrics.Listener delegate) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("thresholdMillis < 0: " + thresholdMillis);
+        }
+        this.thresholdNanos = thresholdMillis * 1000000L;
+        this.delegate = delegate != null ? delegate : InjectMetrics.NONE;
+    }
+
+    @Override
+    public void onCacheLookup(Class<?> targetClass, boolean hit) {
+        delegate.onCacheLookup(targetClass, hit);
+    }
+
+    @Override
+    public void onInject(Class<?> targetClass, long durationNanos, int viewsResolved, int listenersInstalled) {
+        delegate.onInject(targetClass, durationNanos, viewsResolved, listenersInstalled);
+        if (durationNanos > thresholdNanos && Looper.myLooper() == Looper.getMainLooper()) {
+            onSlowBind(targetClass, durationNanos);
+        }
+    }
+
+    /**
+     * 主线程注入超出预算，子类可重写为上报或抛出异常（相当于StrictMode的penaltyDeath）
+     */
+    protected void onSlowBind(Class<?> targetClass, long durationNanos) {
+        Log.w(TAG, "Slow bind on main thread: " + targetClass.getName() + " took "
+                + durationNanos / 1000 + "us, budget " + thresholdNanos / 1000 + "us");
+    }
+}
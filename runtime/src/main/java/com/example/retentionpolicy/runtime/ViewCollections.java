@@ -0,0 +1,77 @@
+package com.example.retentionpolicy.runtime;
+
+import android.view.View;
+
+import java.util.List;
+
+/**
+ * 对@BindViews/@FindViewsById绑定的一组View进行操作。
+ * List按下标访问，不创建Iterator（在滚动、输入回调中频繁调用时不产生垃圾）；跳过未找到（为null）的元素
+ */
+
+public final class ViewCollections {
+
+    private ViewCollections() {
+    }
+
+    /**
+     * 对一组View中的每个View执行的操作，index为View在数组或List中的下标
+     */
+    public interface Action<V extends View> {
+        void apply(V view, int index);
+    }
+
+    public static <V extends View> void run(V[] views, Action<? super V> action) {
+        for (int i = 0; i < views.length; i++) {
+            if (views[i] != null) {
+                action.apply(views[i], i);
+            }
+        }
+    }
+
+    public static <V extends View> void run(List<V> views, Action<? super V> action) {
+        for (int i = 0, size = views.size(); i < size; i++) {
+            V view = views.get(i);
+            if (view != null) {
+                action.apply(view, i);
+            }
+        }
+    }
+
+    public static void setEnabled(View[] views, boolean enabled) {
+        for (View view : views) {
+            if (view != null) {
+                view.setEnabled(enabled);
+            }
+        }
+    }
+
+    public static void setEnabled(List<? extends View> views, boolean enabled) {
+        for (int i = 0, size = views.size(); i < size; i++) {
+            View view = views.get(i);
+            if (view != null) {
+                view.setEnabled(enabled);
+            }
+        }
+    }
+
+    /**
+     * @param visibility View.VISIBLE、View.INVISIBLE或View.GONE
+     */
+    public static void setVisibility(View[] views, int visibility) {
+        for (View view : views) {
+            if (view != null) {
+                view.setVisibility(visibility);
+            }
+        }
+    }
+
+    public static void setVisibility(List<? extends View> views, int visibility) {
+        for (int i = 0, size = views.size(); i < size; i++) {
+            View view = views.get(i);
+            if (view != null) {
+                view.setVisibility(visibility);
+            }
+        }
+    }
+}
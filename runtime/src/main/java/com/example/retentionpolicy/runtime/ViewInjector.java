@@ -3,70 +3,139 @@ package com.example.retentionpolicy.runtime;
 import android.app.Activity;
 import android.view.View;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
- * 绑定器（根据@FindViewById注解为成员View变量赋值，根据@SetOnClickById注解，为响应Id的View设置ClickListener）
+ * 绑定器（根据@FindViewById、@FindViewsById注解为成员View变量赋值，根据@SetOnClickById注解，为响应Id的View设置ClickListener，
+ * 根据@SetOnTextChangedById、@SetOnScrollById注解监听文本变化、滚动事件）
  * Created by YON on 2017/1/18.
  */
 
 public class ViewInjector {
 
-    public static void inject(final Activity target) {
-        //收集Field信息
-        Class targetClass = target.getClass();
-        List<Field> fieldList = new ArrayList<>();
-        collectFields(fieldList, targetClass);
-        for (Field field : fieldList) {
-            //获取@FindViewById注解字段
-            FindViewById annotation = field.getAnnotation(FindViewById.class);
-            if (annotation != null) {
-                try {
-                    field.setAccessible(true);
-                    field.set(target, target.findViewById(annotation.value()));
-                } catch (Exception e) {
-                    throw new RuntimeException("can't find view by id :" + annotation.value());
-                }
-            }
+    /**
+     * 没有绑定注解的类共用的空结果
+     */
+    private static final View[] NO_VIEWS = new View[0];
+
+    /**
+     * 绑定target（含父类）的注解。安装的文本变化、滚动事件监听随View一起释放，无法单独停止；
+     * 需要在onDestroy中停止监听（取消尚未执行的合并调用）时使用bind
+     */
+    public static void inject(Activity target) {
+        bind(target);
+    }
+
+    /**
+     * 与inject相同，并返回安装的事件监听
+     *
+     * @return 在onDestroy中调用detach()停止监听；没有@SetOnTextChangedById、@SetOnScrollById时返回BoundEvents.EMPTY
+     */
+    public static BoundEvents bind(Activity target) {
+        InjectMetrics.Listener metrics = InjectMetrics.getListener();
+        if (metrics == InjectMetrics.NONE) {
+            //获取缓存的绑定计划，每个Class只反射解析一次
+            BindingPlan plan = BindingPlan.forClass(target.getClass());
+            EventCoalescer[] events = newEvents(plan);
+            bindViews(target, plan, events);
+            return events != null ? new BoundEvents(events) : BoundEvents.EMPTY;
         }
-        List<Method> methodList = new ArrayList<>();
-        collectMethods(methodList, targetClass);
-        for (final Method method : methodList) {
-            //获取@FindViewById注解字段
-            final SetOnClickById annotation = method.getAnnotation(SetOnClickById.class);
-            if (annotation != null) {
-                target.findViewById(annotation.value()).setOnClickListener(new View.OnClickListener() {
-                    @Override
-                    public void onClick(View v) {
-                        try {
-                            method.setAccessible(true);
-                            method.invoke(target);
-                        } catch (Exception e) {
-                            throw new RuntimeException("can't set click listener by id :" + annotation.value());
-                        }
-                    }
-                });
+        long start = System.nanoTime();
+        Class<?> targetClass = target.getClass();
+        BindingPlan plan = BindingPlan.peek(targetClass);
+        metrics.onCacheLookup(targetClass, plan != null);
+        if (plan == null) {
+            plan = BindingPlan.forClass(targetClass);
+        }
+        EventCoalescer[] events = newEvents(plan);
+        View[] views = bindViews(target, plan, events);
+        int resolved = 0;
+        for (View view : views) {
+            if (view != null) {
+                resolved++;
             }
         }
+        metrics.onInject(targetClass, System.nanoTime() - start, resolved, plan.clickIds.length + plan.events.size());
+        return events != null ? new BoundEvents(events) : BoundEvents.EMPTY;
+    }
+
+    private static EventCoalescer[] newEvents(BindingPlan plan) {
+        return plan.events.isEmpty() ? null : new EventCoalescer[plan.events.size()];
     }
 
-    private static void collectFields(List<Field> fieldList, Class targetClass) {
-        while (targetClass != null) {
-            Field[] fields = targetClass.getDeclaredFields();
-            Collections.addAll(fieldList, fields);
-            targetClass = targetClass.getSuperclass();
+    /**
+     * @param events 长度为plan.events.size()，写入开始监听的EventCoalescer；没有事件绑定时为null
+     * @return 按plan.viewIds找到的View
+     */
+    private static View[] bindViews(Activity target, BindingPlan plan, EventCoalescer[] events) {
+        //一次遍历View树找到所有需要的View
+        if (plan.viewIds.length == 0) {
+            return NO_VIEWS;
+        }
+        View[] views = new View[plan.viewIds.length];
+        ViewResolver.findViewsById(target, plan.viewIds, views);
+        for (BindingPlan.FieldBinding binding : plan.fields) {
+            binding.setter.set(target, views[plan.indexOfView(binding.id)]);
+        }
+        for (BindingPlan.GroupBinding group : plan.groups) {
+            group.setter.set(target, group.collect(plan, views));
+        }
+        //文本变化、滚动事件合并后再调用处理方法
+        for (int i = 0; i < plan.events.size(); i++) {
+            BindingPlan.EventBinding event = plan.events.get(i);
+            events[i] = event.attach(target, views[plan.indexOfView(event.id)]);
         }
+        //所有点击事件共用一个按id分发的Listener
+        if (plan.clickIds.length > 0) {
+            ClickDispatcher dispatcher = new ClickDispatcher(target, plan);
+            for (int id : plan.clickIds) {
+                views[plan.indexOfView(id)].setOnClickListener(dispatcher);
+            }
+        }
+        return views;
+    }
+
+    /**
+     * targetClass（含父类）是否有@FindViewById/@FindViewsById/@SetOnClickById等绑定注解，解析结果随绑定计划缓存
+     */
+    public static boolean hasBindings(Class<?> targetClass) {
+        return BindingPlan.forClass(targetClass).viewIds.length > 0;
+    }
+
+    /**
+     * cls自身（不含父类）是否声明了绑定注解，只检查注解是否存在，不解析也不缓存绑定计划
+     */
+    public static boolean hasDeclaredBindings(Class<?> cls) {
+        return BindingPlan.hasDeclaredBindings(cls);
+    }
+
+    /**
+     * 在executor上预先解析并缓存classes的绑定计划（反射扫描类层级、setAccessible），之后主线程inject直接命中缓存。
+     * 与同时进行的inject并发安全：同一个类可能被解析两次，但只有先写入缓存的计划会被使用
+     */
+    public static void prewarm(Executor executor, Class<?>... classes) {
+        final Class<?>[] targets = classes.clone();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Class<?> cls : targets) {
+                    try {
+                        BindingPlan.forClass(cls);
+                    } catch (RuntimeException e) {
+                        //注解使用错误时不缓存，留到主线程inject时再抛出
+                    }
+                }
+            }
+        });
     }
 
-    private static void collectMethods(List<Method> methodList, Class targetClass) {
-        while (targetClass != null) {
-            Method[] methods = targetClass.getDeclaredMethods();
-            Collections.addAll(methodList, methods);
-            targetClass = targetClass.getSuperclass();
+    /**
+     * 替换创建成员变量/方法访问器的工厂（如基于生成代码的实现），应在首次inject之前调用
+     */
+    public static void setAccessorFactory(AccessorFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("factory == null");
         }
+        BindingPlan.setAccessorFactory(factory);
     }
 }
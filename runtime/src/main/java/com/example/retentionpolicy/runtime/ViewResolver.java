@@ -0,0 +1,124 @@
+package com.example.retentionpolicy.runtime;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Arrays;
+
+/**
+ * 批量查找View：一次深度优先遍历View树查找多个id，全部找到后立即停止，
+ * 代替逐个调用findViewById（每次都要遍历整棵View树）。
+ * 供ViewInjector和BindAnnotationProcessor生成的xxActivity_InjectUtil类使用
+ */
+
+public final class ViewResolver {
+
+    /**
+     * 每个线程一个可复用的View数组，见obtainViews
+     */
+    private static final ThreadLocal<View[]> SCRATCH_VIEWS = new ThreadLocal<View[]>();
+
+    private ViewResolver() {
+    }
+
+    /**
+     * 供生成的ViewBinder在每次bind时查找View而不分配数组（查找到的View只在bind期间使用，不需要保留）。
+     * 用完后须调用releaseViews，释放前同一线程不可再次获取
+     *
+     * @return 当前线程的View数组，长度不小于count
+     */
+    public static View[] obtainViews(int count) {
+        View[] views = SCRATCH_VIEWS.get();
+        if (views == null || views.length < count) {
+            views = new View[count];
+            SCRATCH_VIEWS.set(views);
+        }
+        return views;
+    }
+
+    /**
+     * 清空obtainViews数组中的前count个元素，不再持有View树
+     */
+    public static void releaseViews(View[] views, int count) {
+        Arrays.fill(views, 0, count, null);
+    }
+
+    /**
+     * 在activity的View树中查找sortedIds中的所有View
+     */
+    public static void findViewsById(Activity activity, int[] sortedIds, View[] views) {
+        findViewsById(activity.getWindow().getDecorView(), sortedIds, views);
+    }
+
+    /**
+     * 在root的View树中查找sortedIds中的所有View，结果按下标写入views，未找到的为null。
+     * 与findViewById一致，同一id有多个View时取遍历顺序中的第一个
+     *
+     * @param sortedIds 升序排列且无重复的id
+     * @param views     长度不小于sortedIds.length
+     */
+    public static void findViewsById(View root, int[] sortedIds, View[] views) {
+        Arrays.fill(views, 0, sortedIds.length, null);
+        if (root != null && sortedIds.length > 0) {
+            traverse(root, sortedIds, views, sortedIds.length);
+        }
+    }
+
+    /**
+     * 按编译时从布局文件计算的子View下标路径查找：paths[i]为sortedIds[i]从android.R.id.content开始逐层的子View下标，
+     * 不需要遍历View树。任何一个路径不存在或找到的View的id不符（运行时修改了布局、使用了其他配置的布局等）时，
+     * 退回findViewsById遍历查找全部id
+     */
+    public static void findViewsByPath(Activity activity, int[] sortedIds, int[][] paths, View[] views) {
+        View content = activity.findViewById(android.R.id.content);
+        for (int i = 0; i < sortedIds.length; i++) {
+            View view = followPath(content, paths[i]);
+            if (view == null || view.getId() != sortedIds[i]) {
+                findViewsById(activity, sortedIds, views);
+                return;
+            }
+            views[i] = view;
+        }
+    }
+
+    /**
+     * @return 从view开始按path逐层取子View，路径不存在时返回null
+     */
+    private static View followPath(View view, int[] path) {
+        for (int index : path) {
+            if (!(view instanceof ViewGroup)) {
+                return null;
+            }
+            ViewGroup group = (ViewGroup) view;
+            if (index >= group.getChildCount()) {
+                return null;
+            }
+            view = group.getChildAt(index);
+        }
+        return view;
+    }
+
+    /**
+     * @return 剩余未找到的id个数
+     */
+    private static int traverse(View view, int[] sortedIds, View[] views, int remaining) {
+        int index = Arrays.binarySearch(sortedIds, view.getId());
+        if (index >= 0 && views[index] == null) {
+            views[index] = view;
+            if (--remaining == 0) {
+                return 0;
+            }
+        }
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0, count = group.getChildCount(); i < count; i++) {
+                remaining = traverse(group.getChildAt(i), sortedIds, views, remaining);
+                if (remaining == 0) {
+                    return 0;
+                }
+            }
+        }
+        return remaining;
+    }
+}
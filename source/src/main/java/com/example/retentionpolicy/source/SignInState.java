@@ -2,6 +2,9 @@ package com.example.retentionpolicy.source;
 
 import android.support.annotation.IntDef;
 
+import com.example.source_annotation.IntStates;
+import com.example.source_annotation.Transition;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -25,5 +28,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.PARAMETER)//定义Annotation所修饰的对象范围
 @IntDef({SignInProgress.START, SignInProgress.SUCCESS, SignInProgress.FAILURE})
 @Retention(RetentionPolicy.SOURCE)//定义该Annotation被保留的时间长短
+//由IntStatesProcessor生成SignInStateSet、SignInStateTransitions及SignInStateDispatcher，不装箱地使用状态集合及按状态分发
+@IntStates(constants = SignInProgress.class, transitions = {
+        @Transition(from = SignInProgress.START, to = {SignInProgress.SUCCESS, SignInProgress.FAILURE}),
+        @Transition(from = SignInProgress.FAILURE, to = SignInProgress.START)
+})
 public @interface SignInState {
 }
@@ -0,0 +1,30 @@
+package com.example.source_annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注在@IntDef注解（如@SignInState）上，由IntStatesProcessor在同一包中为其生成（以Xx表示被标注的注解名）：
+ * <ul>
+ * <li>XxSet：状态集合，按IntDef中的声明顺序每个状态占long的一位，代替Set&lt;Integer&gt;，不装箱</li>
+ * <li>XxTransitions：声明了transitions时生成，编译时校验过的状态转换表</li>
+ * <li>XxDispatcher：按状态switch分发到onXx方法（如START -> onStart），代替手写的switch</li>
+ * </ul>
+ * 状态名取自constants中与IntDef取值相等的int常量，IntDef最多64个取值，不支持flag = true
+ */
+@Target(ElementType.ANNOTATION_TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface IntStates {
+
+    /**
+     * 声明状态常量的类（如SignInProgress），默认在被标注的注解及其外部类中查找
+     */
+    Class<?> constants() default void.class;
+
+    /**
+     * 允许的状态转换，为空时不生成XxTransitions
+     */
+    Transition[] transitions() default {};
+}
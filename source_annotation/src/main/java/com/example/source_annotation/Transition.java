@@ -0,0 +1,17 @@
+package com.example.source_annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link IntStates#transitions()}中的一项：允许从from转换到to中的任意状态，同一from可以出现多次（合并）。
+ * from及to必须是IntDef中声明的取值，否则编译报错
+ */
+@Target({})
+@Retention(RetentionPolicy.SOURCE)
+public @interface Transition {
+    int from();
+
+    int[] to();
+}
@@ -0,0 +1,488 @@
+package com.example.source_processor;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * 存储一个@IntStates注解解析后的状态及转换，用于生成XxSet、XxTransitions及XxDispatcher
+ */
+
+class IntStatesInfo {
+    static final String SET_SUFFIX = "Set";
+    static final String TRANSITIONS_SUFFIX = "Transitions";
+    static final String DISPATCHER_SUFFIX = "Dispatcher";
+    /**
+     * XxSet用一个long保存状态位
+     */
+    static final int MAX_STATES = 64;
+
+    private final TypeElement annotationType;
+    private final String classPackage;
+    /**
+     * 生成类名的前缀，嵌套注解的外部类名以'_'连接
+     */
+    private final String prefix;
+    private final String annotationName;
+    /**
+     * 被标注的注解可用于参数时，生成的方法参数加上该注解，供Lint检查传入的取值
+     */
+    private final boolean annotateParameters;
+    private final List<State> states = new ArrayList<>();
+    /**
+     * 下标为from状态的下标，值为允许转换到的状态位；没有声明transitions时为null
+     */
+    private long[] transitions;
+
+    IntStatesInfo(TypeElement annotationType, String classPackage, boolean annotateParameters) {
+        this.annotationType = annotationType;
+        this.classPackage = classPackage;
+        this.annotationName = annotationType.getSimpleName().toString();
+        this.prefix = annotationType.getQualifiedName().toString().substring(classPackage.length() + 1).replace('.', '_');
+        this.annotateParameters = annotateParameters;
+    }
+
+    String getAnnotationName() {
+        return annotationName;
+    }
+
+    void addState(String name, int value, ClassName owner, String methodName) {
+        states.add(new State(name, value, owner, methodName));
+    }
+
+    List<State> getStates() {
+        return states;
+    }
+
+    /**
+     * @return 状态的下标，不是IntDef中的取值时返回-1
+     */
+    int indexOf(int value) {
+        for (int i = 0; i < states.size(); i++) {
+            if (states.get(i).value == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void addTransition(int fromIndex, int toIndex) {
+        if (transitions == null) {
+            transitions = new long[states.size()];
+        }
+        transitions[fromIndex] |= 1L << toIndex;
+    }
+
+    boolean hasTransitions() {
+        return transitions != null;
+    }
+
+    private ClassName getSetClassName() {
+        return ClassName.get(classPackage, prefix + SET_SUFFIX);
+    }
+
+    private ParameterSpec stateParameter(String name) {
+        ParameterSpec.Builder parameter = ParameterSpec.builder(TypeName.INT, name);
+        if (annotateParameters) {
+            parameter.addAnnotation(AnnotationSpec.builder(ClassName.get(annotationType)).build());
+        }
+        return parameter.build();
+    }
+
+    private static String bitsLiteral(long bits) {
+        return String.format("0x%xL", bits);
+    }
+
+    /**
+     * switch(state)，每个状态返回其下标（callMethod为false）或调用对应的onXx方法，其他取值执行defaultCode
+     */
+    private CodeBlock switchOnState(boolean callMethod, String defaultCode) {
+        CodeBlock.Builder code = CodeBlock.builder().beginControlFlow("switch (state)");
+        for (int i = 0; i < states.size(); i++) {
+            State state = states.get(i);
+            code.add("case $T.$L:\n", state.owner, state.name).indent();
+            if (callMethod) {
+                code.addStatement("$N()", state.methodName).addStatement("break");
+            } else {
+                code.addStatement("return $L", i);
+            }
+            code.unindent();
+        }
+        return code.add("default:\n")
+                .indent()
+                .addStatement(defaultCode)
+                .unindent()
+                .endControlFlow()
+                .build();
+    }
+
+    JavaFile createSetClassFile() {
+        ClassName setName = getSetClassName();
+        int size = states.size();
+        long all = size == MAX_STATES ? -1L : (1L << size) - 1;
+
+        CodeBlock.Builder names = CodeBlock.builder();
+        CodeBlock.Builder values = CodeBlock.builder();
+        for (int i = 0; i < size; i++) {
+            State state = states.get(i);
+            String separator = i == 0 ? "" : ", ";
+            names.add("$L$S", separator, state.name);
+            values.add("$L$T.$L", separator, state.owner, state.name);
+        }
+
+        TypeSpec.Builder setClass = TypeSpec.classBuilder(setName)
+                .addOriginatingElement(annotationType)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addJavadoc("{@link $T}的状态集合，按IntDef中的声明顺序每个状态占long的一位，代替Set<Integer>，不装箱。非线程安全\n",
+                        annotationType)
+                .addField(FieldSpec.builder(TypeName.INT, "SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .addJavadoc("状态个数\n")
+                        .initializer("$L", size)
+                        .build())
+                .addField(FieldSpec.builder(TypeName.LONG, "ALL", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(bitsLiteral(all))
+                        .build())
+                .addField(FieldSpec.builder(String[].class, "NAMES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("{$L}", names.build())
+                        .build())
+                .addField(FieldSpec.builder(int[].class, "VALUES", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("{$L}", values.build())
+                        .build())
+                .addField(long.class, "bits", Modifier.PRIVATE);
+
+        setClass.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .build());
+        setClass.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(long.class, "bits")
+                .addStatement("this.bits = bits")
+                .build());
+
+        // 静态方法：状态 <-> 下标、名称
+        setClass.addMethod(MethodSpec.methodBuilder("indexOf")
+                .addJavadoc("状态在IntDef中的下标，不是合法状态时返回-1\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(int.class, "state")
+                .addCode(switchOnState(false, "return -1"))
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("valueAt")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(int.class, "index")
+                .addStatement("return VALUES[index]")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("isValid")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(boolean.class)
+                .addParameter(int.class, "state")
+                .addStatement("return indexOf(state) >= 0")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("nameOf")
+                .addJavadoc("状态常量名，不是合法状态时返回数值\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(int.class, "state")
+                .addStatement("int index = indexOf(state)")
+                .addStatement("return index >= 0 ? NAMES[index] : String.valueOf(state)")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("bitOf")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(long.class)
+                .addParameter(int.class, "state")
+                .addStatement("int index = indexOf(state)")
+                .beginControlFlow("if (index < 0)")
+                .addStatement("throw new $T($S + state)", IllegalArgumentException.class, "Unknown " + annotationName + ": ")
+                .endControlFlow()
+                .addStatement("return 1L << index")
+                .build());
+
+        // 创建
+        setClass.addMethod(MethodSpec.methodBuilder("noneOf")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(setName)
+                .addStatement("return new $T(0L)", setName)
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("allOf")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(setName)
+                .addStatement("return new $T(ALL)", setName)
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(setName)
+                .addParameter(stateParameter("state"))
+                .addStatement("return new $T(bitOf(state))", setName)
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(setName)
+                .addParameter(stateParameter("first"))
+                .addParameter(stateParameter("second"))
+                .addStatement("return new $T(bitOf(first) | bitOf(second))", setName)
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .varargs()
+                .returns(setName)
+                .addParameter(int[].class, "states")
+                .addStatement("long bits = 0L")
+                .beginControlFlow("for (int state : states)")
+                .addStatement("bits |= bitOf(state)")
+                .endControlFlow()
+                .addStatement("return new $T(bits)", setName)
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("fromBits")
+                .addJavadoc("由{@link #toBits()}的结果（如保存在Bundle中的long）恢复集合\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(setName)
+                .addParameter(long.class, "bits")
+                .beginControlFlow("if ((bits & ~ALL) != 0)")
+                .addStatement("throw new $T($S + Long.toHexString(bits))", IllegalArgumentException.class,
+                        "Unknown " + annotationName + " bits: 0x")
+                .endControlFlow()
+                .addStatement("return new $T(bits)", setName)
+                .build());
+
+        // 单个状态
+        setClass.addMethod(MethodSpec.methodBuilder("add")
+                .addJavadoc("@return 集合是否改变\n")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(stateParameter("state"))
+                .addStatement("long old = bits")
+                .addStatement("bits |= bitOf(state)")
+                .addStatement("return bits != old")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("remove")
+                .addJavadoc("@return 集合是否改变，不是合法状态时返回false\n")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(int.class, "state")
+                .addStatement("int index = indexOf(state)")
+                .beginControlFlow("if (index < 0)")
+                .addStatement("return false")
+                .endControlFlow()
+                .addStatement("long old = bits")
+                .addStatement("bits &= ~(1L << index)")
+                .addStatement("return bits != old")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("contains")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(int.class, "state")
+                .addStatement("int index = indexOf(state)")
+                .addStatement("return index >= 0 && (bits & (1L << index)) != 0")
+                .build());
+
+        // 集合运算
+        addBulkMethod(setClass, setName, "addAll", "bits |= other.bits");
+        addBulkMethod(setClass, setName, "removeAll", "bits &= ~other.bits");
+        addBulkMethod(setClass, setName, "retainAll", "bits &= other.bits");
+        setClass.addMethod(MethodSpec.methodBuilder("containsAll")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(setName, "other")
+                .addStatement("return (bits & other.bits) == other.bits")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("clear")
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("bits = 0L")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("size")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("return Long.bitCount(bits)")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("isEmpty")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addStatement("return bits == 0L")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("toBits")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(long.class)
+                .addStatement("return bits")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("toArray")
+                .addJavadoc("按IntDef中的声明顺序返回集合中的状态，可用于for-each遍历\n")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int[].class)
+                .addStatement("int[] states = new int[Long.bitCount(bits)]")
+                .addStatement("long remaining = bits")
+                .beginControlFlow("for (int i = 0; remaining != 0; i++)")
+                .addStatement("int index = Long.numberOfTrailingZeros(remaining)")
+                .addStatement("states[i] = VALUES[index]")
+                .addStatement("remaining &= remaining - 1")
+                .endControlFlow()
+                .addStatement("return states")
+                .build());
+
+        setClass.addMethod(MethodSpec.methodBuilder("equals")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(Object.class, "o")
+                .addStatement("return o instanceof $T && (($T) o).bits == bits", setName, setName)
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("hashCode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("return (int) (bits ^ (bits >>> 32))")
+                .build());
+        setClass.addMethod(MethodSpec.methodBuilder("toString")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(String.class)
+                .addStatement("$T builder = new $T().append('[')", StringBuilder.class, StringBuilder.class)
+                .addStatement("long remaining = bits")
+                .beginControlFlow("while (remaining != 0)")
+                .addStatement("builder.append(NAMES[Long.numberOfTrailingZeros(remaining)])")
+                .addStatement("remaining &= remaining - 1")
+                .beginControlFlow("if (remaining != 0)")
+                .addStatement("builder.append($S)", ", ")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return builder.append(']').toString()")
+                .build());
+
+        return JavaFile.builder(classPackage, setClass.build())
+                .addFileComment("auto generate state set class response to : $S ", annotationName)
+                .build();
+    }
+
+    private static void addBulkMethod(TypeSpec.Builder setClass, ClassName setName, String name, String operation) {
+        setClass.addMethod(MethodSpec.methodBuilder(name)
+                .addJavadoc("@return 集合是否改变\n")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(setName, "other")
+                .addStatement("long old = bits")
+                .addStatement(operation)
+                .addStatement("return bits != old")
+                .build());
+    }
+
+    /**
+     * 转换表在编译时已校验并折叠为long[]，查询只需两次indexOf的switch及一次位运算
+     */
+    JavaFile createTransitionsClassFile() {
+        ClassName setName = getSetClassName();
+        ClassName transitionsName = ClassName.get(classPackage, prefix + TRANSITIONS_SUFFIX);
+
+        CodeBlock.Builder table = CodeBlock.builder();
+        for (int i = 0; i < transitions.length; i++) {
+            table.add("$L$L", i == 0 ? "" : ", ", bitsLiteral(transitions[i]));
+        }
+
+        TypeSpec transitionsClass = TypeSpec.classBuilder(transitionsName)
+                .addOriginatingElement(annotationType)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addJavadoc("{@link $T}允许的状态转换（@IntStates.transitions）\n", annotationType)
+                .addField(FieldSpec.builder(long[].class, "TARGETS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .addJavadoc("下标为from状态在$T中的下标，值为允许转换到的状态位\n", setName)
+                        .initializer("{$L}", table.build())
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("isAllowed")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(boolean.class)
+                        .addParameter(int.class, "from")
+                        .addParameter(int.class, "to")
+                        .addStatement("int fromIndex = $T.indexOf(from)", setName)
+                        .addStatement("int toIndex = $T.indexOf(to)", setName)
+                        .addStatement("return fromIndex >= 0 && toIndex >= 0 && (TARGETS[fromIndex] & (1L << toIndex)) != 0")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("check")
+                        .addJavadoc("不允许从from转换到to时抛出IllegalStateException\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(stateParameter("from"))
+                        .addParameter(stateParameter("to"))
+                        .beginControlFlow("if (!isAllowed(from, to))")
+                        .addStatement("throw new $T($S + $T.nameOf(from) + $S + $T.nameOf(to))", IllegalStateException.class,
+                                "Illegal " + annotationName + " transition: ", setName, " -> ", setName)
+                        .endControlFlow()
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("targetsOf")
+                        .addJavadoc("from允许转换到的状态，不是合法状态时返回空集合\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(setName)
+                        .addParameter(int.class, "from")
+                        .addStatement("int index = $T.indexOf(from)", setName)
+                        .addStatement("return $T.fromBits(index >= 0 ? TARGETS[index] : 0L)", setName)
+                        .build())
+                .build();
+
+        return JavaFile.builder(classPackage, transitionsClass)
+                .addFileComment("auto generate state transitions class response to : $S ", annotationName)
+                .build();
+    }
+
+    /**
+     * 每个状态一个抽象方法，新增状态后所有未处理该状态的实现类编译报错，代替手写switch时遗漏的default分支
+     */
+    JavaFile createDispatcherClassFile() {
+        ClassName dispatcherName = ClassName.get(classPackage, prefix + DISPATCHER_SUFFIX);
+        TypeSpec.Builder dispatcherClass = TypeSpec.classBuilder(dispatcherName)
+                .addOriginatingElement(annotationType)
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addJavadoc("按{@link $T}状态分发到对应的onXx方法\n", annotationType)
+                .addMethod(MethodSpec.methodBuilder("dispatch")
+                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                        .addParameter(stateParameter("state"))
+                        .addCode(switchOnState(true, "onUnknown(state)"))
+                        .build());
+        for (State state : states) {
+            dispatcherClass.addMethod(MethodSpec.methodBuilder(state.methodName)
+                    .addJavadoc("{@link $T#$L}\n", state.owner, state.name)
+                    .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
+                    .build());
+        }
+        dispatcherClass.addMethod(MethodSpec.methodBuilder(IntStatesProcessor.UNKNOWN_METHOD)
+                .addJavadoc("state不是IntDef中的取值，默认抛出IllegalArgumentException\n")
+                .addModifiers(Modifier.PROTECTED)
+                .addParameter(int.class, "state")
+                .addStatement("throw new $T($S + state)", IllegalArgumentException.class, "Unknown " + annotationName + ": ")
+                .build());
+
+        return JavaFile.builder(classPackage, dispatcherClass.build())
+                .addFileComment("auto generate state dispatcher class response to : $S ", annotationName)
+                .build();
+    }
+
+    static class State {
+        final String name;
+        final int value;
+        /**
+         * 声明该常量的类
+         */
+        final ClassName owner;
+        /**
+         * XxDispatcher中的方法名
+         */
+        final String methodName;
+
+        State(String name, int value, ClassName owner, String methodName) {
+            this.name = name;
+            this.value = value;
+            this.owner = owner;
+            this.methodName = methodName;
+        }
+    }
+}
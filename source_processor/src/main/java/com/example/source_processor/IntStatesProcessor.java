@@ -0,0 +1,317 @@
+package com.example.source_processor;
+
+import com.example.source_annotation.IntStates;
+import com.example.source_annotation.Transition;
+import com.google.auto.service.AutoService;
+import com.squareup.javapoet.ClassName;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+/**
+ * 处理@IntStates：为被标注的@IntDef注解生成XxSet、XxTransitions及XxDispatcher（见{@link IntStates}），
+ * 使用int常量代替enum时，状态集合、转换表及按状态分发都不需要装箱为Integer。
+ * IntDef是SOURCE级注解，只能在声明该注解的模块编译时读取，因此本处理器需配置在该模块（如source module）上。
+ * 生成的类只由被标注的注解决定，并以其作为originating element写入，注册为isolating增量处理器
+ */
+@AutoService(Processor.class)
+public class IntStatesProcessor extends AbstractProcessor {
+
+    /**
+     * XxDispatcher中处理未知取值的方法，状态对应的方法名不能与之相同
+     */
+    static final String UNKNOWN_METHOD = "onUnknown";
+
+    private static final String[] INT_DEF_TYPES = {
+            "android.support.annotation.IntDef",
+            "androidx.annotation.IntDef"
+    };
+
+    @Override
+    public boolean process(Set<? extends TypeElement> set, RoundEnvironment roundEnvironment) {
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(IntStates.class)) {
+            if (element.getKind() != ElementKind.ANNOTATION_TYPE) {
+                error(element, "@%s can only be used on @IntDef annotations.", IntStates.class.getSimpleName());
+                continue;
+            }
+            IntStatesInfo info = parseStates((TypeElement) element);
+            if (info == null) {
+                continue;
+            }
+            try {
+                info.createSetClassFile().writeTo(processingEnv.getFiler());
+                if (info.hasTransitions()) {
+                    info.createTransitionsClassFile().writeTo(processingEnv.getFiler());
+                }
+                info.createDispatcherClassFile().writeTo(processingEnv.getFiler());
+            } catch (IOException e) {
+                error(element, "Unable to generate state classes for @%s: %s", info.getAnnotationName(), e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 读取IntDef取值、对应的常量名及transitions，校验失败时报告错误并返回null
+     */
+    private IntStatesInfo parseStates(TypeElement annotationType) {
+        String name = annotationType.getSimpleName().toString();
+        AnnotationMirror intDef = null;
+        for (String intDefType : INT_DEF_TYPES) {
+            intDef = findAnnotationMirror(annotationType, intDefType);
+            if (intDef != null) {
+                break;
+            }
+        }
+        if (intDef == null) {
+            error(annotationType, "@%s must be annotated with @IntDef.", name);
+            return null;
+        }
+        if (Boolean.TRUE.equals(getAnnotationValue(intDef, "flag"))) {
+            error(annotationType, "@IntDef(flag = true) is not supported by @%s: %s.",
+                    IntStates.class.getSimpleName(), name);
+            return null;
+        }
+        List<Long> values = new ArrayList<>();
+        Object intDefValues = getAnnotationValue(intDef, "value");
+        if (intDefValues instanceof List) {
+            for (Object value : (List<?>) intDefValues) {
+                values.add(((Number) ((AnnotationValue) value).getValue()).longValue());
+            }
+        }
+        if (values.isEmpty() || values.size() > IntStatesInfo.MAX_STATES) {
+            error(annotationType, "@%s must declare 1 to %d @IntDef values, found %d.",
+                    name, IntStatesInfo.MAX_STATES, values.size());
+            return null;
+        }
+
+        List<TypeElement> owners = getConstantsOwners(annotationType);
+        if (owners == null) {
+            return null;
+        }
+        String classPackage = processingEnv.getElementUtils().getPackageOf(annotationType).getQualifiedName().toString();
+        IntStatesInfo info = new IntStatesInfo(annotationType, classPackage, isApplicableToParameters(annotationType));
+        Set<String> methodNames = new HashSet<>(Collections.singleton(UNKNOWN_METHOD));
+        boolean valid = true;
+        for (Long value : values) {
+            if (value.intValue() != value) {
+                error(annotationType, "@%s value %d is out of int range.", name, value);
+                valid = false;
+                continue;
+            }
+            int state = value.intValue();
+            if (info.indexOf(state) >= 0) {
+                error(annotationType, "@%s declares value %d more than once.", name, state);
+                valid = false;
+                continue;
+            }
+            VariableElement constant = findConstant(annotationType, owners, state);
+            if (constant == null) {
+                valid = false;
+                continue;
+            }
+            String constantName = constant.getSimpleName().toString();
+            String methodName = toMethodName(constantName);
+            if (!methodNames.add(methodName)) {
+                error(constant, "Constant %s of @%s maps to dispatcher method %s() which is already used.",
+                        constantName, name, methodName);
+                valid = false;
+                continue;
+            }
+            info.addState(constantName, state,
+                    ClassName.get((TypeElement) constant.getEnclosingElement()), methodName);
+        }
+        if (!valid) {
+            return null;
+        }
+
+        for (Transition transition : annotationType.getAnnotation(IntStates.class).transitions()) {
+            int fromIndex = info.indexOf(transition.from());
+            if (fromIndex < 0) {
+                error(annotationType, "Transition from %d is not a @%s value.", transition.from(), name);
+                valid = false;
+                continue;
+            }
+            for (int to : transition.to()) {
+                int toIndex = info.indexOf(to);
+                if (toIndex < 0) {
+                    error(annotationType, "Transition %d -> %d: %d is not a @%s value.", transition.from(), to, to, name);
+                    valid = false;
+                    continue;
+                }
+                info.addTransition(fromIndex, toIndex);
+            }
+        }
+        return valid ? info : null;
+    }
+
+    /**
+     * 状态常量的查找范围：@IntStates.constants，未指定时为被标注的注解及其外部类
+     */
+    private List<TypeElement> getConstantsOwners(TypeElement annotationType) {
+        List<TypeElement> owners = new ArrayList<>();
+        AnnotationMirror intStates = findAnnotationMirror(annotationType, IntStates.class.getCanonicalName());
+        Object constants = getAnnotationValue(intStates, "constants");
+        if (constants instanceof TypeMirror && ((TypeMirror) constants).getKind() != TypeKind.VOID) {
+            TypeMirror constantsType = (TypeMirror) constants;
+            if (constantsType.getKind() != TypeKind.DECLARED) {
+                error(annotationType, "@%s.constants must be a class or interface, found %s.",
+                        IntStates.class.getSimpleName(), constantsType);
+                return null;
+            }
+            owners.add((TypeElement) ((DeclaredType) constantsType).asElement());
+            return owners;
+        }
+        owners.add(annotationType);
+        Element enclosing = annotationType.getEnclosingElement();
+        while (enclosing != null && enclosing.getKind() != ElementKind.PACKAGE) {
+            owners.add((TypeElement) enclosing);
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return owners;
+    }
+
+    /**
+     * 在owners中查找取值为value的static final int常量，生成的类需要在case中引用它
+     */
+    private VariableElement findConstant(TypeElement annotationType, List<TypeElement> owners, int value) {
+        String annotationPackage = processingEnv.getElementUtils().getPackageOf(annotationType).toString();
+        List<VariableElement> matches = new ArrayList<>();
+        for (TypeElement owner : owners) {
+            for (VariableElement field : ElementFilter.fieldsIn(owner.getEnclosedElements())) {
+                if (!field.getModifiers().contains(STATIC) || !field.getModifiers().contains(FINAL)
+                        || field.getModifiers().contains(PRIVATE) || field.asType().getKind() != TypeKind.INT) {
+                    continue;
+                }
+                Object constantValue = field.getConstantValue();
+                if (!(constantValue instanceof Integer) || (Integer) constantValue != value) {
+                    continue;
+                }
+                boolean samePackage = processingEnv.getElementUtils().getPackageOf(owner).toString().equals(annotationPackage);
+                boolean isInterface = owner.getKind().isInterface();
+                if (!samePackage && !isInterface && !field.getModifiers().contains(PUBLIC)) {
+                    continue;
+                }
+                matches.add(field);
+            }
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
+        if (matches.isEmpty()) {
+            error(annotationType, "No accessible static final int constant equals @%s value %d in %s.",
+                    annotationType.getSimpleName(), value, owners);
+        } else {
+            error(annotationType, "@%s value %d is ambiguous, matching constants: %s.",
+                    annotationType.getSimpleName(), value, matches);
+        }
+        return null;
+    }
+
+    /**
+     * 没有@Target或@Target包含PARAMETER
+     */
+    private boolean isApplicableToParameters(TypeElement annotationType) {
+        AnnotationMirror target = findAnnotationMirror(annotationType, "java.lang.annotation.Target");
+        if (target == null) {
+            return true;
+        }
+        Object targets = getAnnotationValue(target, "value");
+        if (targets instanceof List) {
+            for (Object value : (List<?>) targets) {
+                Object elementType = ((AnnotationValue) value).getValue();
+                if (elementType instanceof VariableElement
+                        && ((VariableElement) elementType).getSimpleName().contentEquals(ElementType.PARAMETER.name())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 常量名转换为XxDispatcher的方法名：START -> onStart，SIGN_IN_DONE -> onSignInDone，signIn -> onSignIn
+     */
+    static String toMethodName(String constantName) {
+        StringBuilder methodName = new StringBuilder("on");
+        boolean upperCase = constantName.equals(constantName.toUpperCase());
+        for (String part : constantName.split("_")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            methodName.append(Character.toUpperCase(part.charAt(0)));
+            String rest = part.substring(1);
+            methodName.append(upperCase ? rest.toLowerCase() : rest);
+        }
+        return methodName.toString();
+    }
+
+    private static AnnotationMirror findAnnotationMirror(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 注解中显式声明的取值，未声明时为默认值
+     */
+    private Object getAnnotationValue(AnnotationMirror mirror, String key) {
+        if (mirror == null) {
+            return null;
+        }
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(key)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(IntStates.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    protected void error(Element element, String message, Object... args) {
+        processingEnv.getMessager().printMessage(ERROR, String.format(message, args), element);
+    }
+}